@@ -3,6 +3,7 @@ plugins {
     id("org.springframework.boot") version "3.4.5"
     id("co.uzzu.dotenv.gradle") version "4.0.0"
     id("io.spring.dependency-management") version "1.1.7"
+    id("me.champeau.jmh") version "0.7.3"
 }
 
 group = "org.cloudS"
@@ -32,8 +33,12 @@ dependencies {
     implementation("com.amazonaws.serverless:aws-serverless-java-container-springboot3:2.1.3")
     implementation("org.springframework.boot:spring-boot-starter-security")
     implementation("org.springframework.boot:spring-boot-starter-web")
+    implementation("org.springframework.boot:spring-boot-starter-actuator")
+    implementation("org.springframework.boot:spring-boot-starter-aop")
     implementation("org.springframework.session:spring-session-core")
     implementation("io.jsonwebtoken:jjwt:0.12.0")
+    implementation("com.github.ben-manes.caffeine:caffeine")
+    implementation("org.flywaydb:flyway-core")
     implementation("software.amazon.awssdk:s3:2.20.38")
     implementation("software.amazon.awssdk:auth:2.20.38")
     implementation("jakarta.validation:jakarta.validation-api:3.1.1")
@@ -42,10 +47,16 @@ dependencies {
     compileOnly("org.projectlombok:lombok")
     developmentOnly("org.springframework.boot:spring-boot-devtools")
     runtimeOnly("org.postgresql:postgresql")
+    runtimeOnly("org.flywaydb:flyway-database-postgresql")
     annotationProcessor("org.projectlombok:lombok")
     testImplementation("org.springframework.boot:spring-boot-starter-test")
     testImplementation("org.springframework.security:spring-security-test")
     testRuntimeOnly("org.junit.platform:junit-platform-launcher")
+    jmhImplementation("org.springframework:spring-test")
+}
+
+jmh {
+    resultFormat = "JSON"
 }
 
 tasks.withType<Test> {
@@ -0,0 +1,88 @@
+package org.clouds.server.benchmark;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.clouds.server.security.JwtService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import javax.crypto.SecretKey;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of issuing a bearer token and of verifying one per request, before and after caching
+ * the signing key and parser in {@link JwtService}.
+ * <p>
+ * {@code verifyPerCallParser} reproduces the previous request path: the filter extracted the
+ * subject and {@code isTokenValid} then parsed the token twice more, each parse decoding the
+ * base64 secret, rebuilding the HMAC key and building a new parser.
+ * {@code verifyCachedParser} is the current path: one parse with the shared parser, whose
+ * claims are then validated directly.
+ * <p>
+ * Run with {@code ./gradlew jmh -Pjmh.includes=JwtServiceBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    private static final String SECRET_KEY = "3cfa76ef14937c1c0ea519f8fc057a80fcd04a7420f8e8bcd0a7567c272e007b";
+    private static final long EXPIRATION_MILLIS = 86_400_000L;
+
+    private JwtService jwtService;
+    private UserDetails userDetails;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        jwtService = new JwtService(SECRET_KEY, EXPIRATION_MILLIS);
+        userDetails = User.withUsername("benchmark@clouds.org")
+                .password("unused")
+                .authorities("USER")
+                .build();
+        token = jwtService.generateToken(userDetails);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateToken(userDetails);
+    }
+
+    @Benchmark
+    public boolean verifyPerCallParser() {
+        String subject = parseWithNewParser(token).getSubject();
+        boolean subjectMatches = parseWithNewParser(token).getSubject().equals(userDetails.getUsername());
+        boolean notExpired = !parseWithNewParser(token).getExpiration().before(new Date());
+        return subject != null && subjectMatches && notExpired;
+    }
+
+    @Benchmark
+    public boolean verifyCachedParser() {
+        Claims claims = jwtService.extractAllClaims(token);
+        return claims.getSubject() != null && jwtService.isTokenValid(claims, userDetails);
+    }
+
+    private static Claims parseWithNewParser(String token) {
+        SecretKey key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET_KEY));
+        return Jwts.parser().verifyWith(key).build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+}
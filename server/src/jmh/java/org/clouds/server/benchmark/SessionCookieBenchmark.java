@@ -0,0 +1,60 @@
+package org.clouds.server.benchmark;
+
+import jakarta.servlet.http.Cookie;
+import org.clouds.server.service.SessionCookieService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of {@link SessionCookieService#extractSessionId}, which runs on every authenticated
+ * request. Browsers send every cookie for the domain, so the session cookie is placed after
+ * {@code otherCookies} unrelated ones.
+ * <p>
+ * Run with {@code ./gradlew jmh -Pjmh.includes=SessionCookieBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SessionCookieBenchmark {
+
+    @Param({"0", "8"})
+    private int otherCookies;
+
+    private SessionCookieService sessionCookieService;
+    private MockHttpServletRequest request;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        sessionCookieService = new SessionCookieService();
+        request = new MockHttpServletRequest("GET", "/api/v1/files");
+
+        Cookie[] cookies = new Cookie[otherCookies + 1];
+        for (int i = 0; i < otherCookies; i++) {
+            cookies[i] = new Cookie("pref_" + i, "value-" + i);
+        }
+        cookies[otherCookies] = sessionCookieService.createSessionCookie("kq0v1mN8fW3xYbL5tZ7cR2hJ9pD4sA6e");
+        request.setCookies(cookies);
+    }
+
+    @Benchmark
+    public Optional<String> extractSessionId() {
+        return sessionCookieService.extractSessionId(request);
+    }
+}
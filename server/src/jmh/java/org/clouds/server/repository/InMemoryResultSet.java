@@ -0,0 +1,41 @@
+package org.clouds.server.repository;
+
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.util.Map;
+
+/**
+ * Creates a {@link ResultSet} positioned on a single in-memory row, so row mappers can be
+ * measured without a database. Only the column getters used by the mappers are supported.
+ */
+final class InMemoryResultSet {
+
+    private InMemoryResultSet() {
+    }
+
+    static ResultSet of(Map<String, Object> row) {
+        boolean[] lastWasNull = new boolean[1];
+
+        return (ResultSet) Proxy.newProxyInstance(
+                ResultSet.class.getClassLoader(),
+                new Class<?>[]{ResultSet.class},
+                (proxy, method, args) -> {
+                    if ("wasNull".equals(method.getName())) {
+                        return lastWasNull[0];
+                    }
+
+                    Object value = row.get((String) args[0]);
+                    lastWasNull[0] = value == null;
+
+                    return switch (method.getName()) {
+                        case "getLong" -> value == null ? 0L : ((Number) value).longValue();
+                        case "getInt" -> value == null ? 0 : ((Number) value).intValue();
+                        case "getString" -> value == null ? null : value.toString();
+                        case "getObject" -> args.length == 2 && value != null
+                                ? ((Class<?>) args[1]).cast(value)
+                                : value;
+                        default -> throw new UnsupportedOperationException(method.getName());
+                    };
+                });
+    }
+}
@@ -0,0 +1,72 @@
+package org.clouds.server.repository;
+
+import org.clouds.server.model.UserFile;
+import org.clouds.server.model.UserFileListing;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-row cost of the {@link UserFileRepository} row mappers for file metadata and for the
+ * joined file listing, measured against an in-memory row.
+ * <p>
+ * Run with {@code ./gradlew jmh -Pjmh.includes=UserFileRowMapperBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserFileRowMapperBenchmark {
+
+    private UserFileRepository userFileRepository;
+    private ResultSet userFileRow;
+    private ResultSet listingRow;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        userFileRepository = new UserFileRepository();
+
+        Map<String, Object> row = new HashMap<>();
+        row.put("id", 42L);
+        row.put("user_id", 7);
+        row.put("file_name", "quarterly-report.pdf");
+        row.put("file_size_bytes", 2_097_152L);
+        row.put("s3_key", "documents/6f1c2a9e-quarterly-report.pdf");
+        row.put("content_type", "application/pdf");
+        row.put("created_at", LocalDateTime.of(2025, 1, 1, 12, 0));
+        userFileRow = InMemoryResultSet.of(row);
+
+        Map<String, Object> listing = new HashMap<>(row);
+        listing.remove("s3_key");
+        listing.put("owner_user_id", 11L);
+        listing.put("owner_name", "Ada Lovelace");
+        listingRow = InMemoryResultSet.of(listing);
+    }
+
+    @Benchmark
+    public UserFile mapUserFile() throws SQLException {
+        return userFileRepository.userFileRowMapper.mapRow(userFileRow, 0);
+    }
+
+    @Benchmark
+    public UserFileListing mapUserFileListing() throws SQLException {
+        return userFileRepository.userFileListingRowMapper.mapRow(listingRow, 0);
+    }
+}
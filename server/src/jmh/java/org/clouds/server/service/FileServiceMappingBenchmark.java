@@ -0,0 +1,71 @@
+package org.clouds.server.service;
+
+import org.clouds.server.dto.UserFileDto;
+import org.clouds.server.model.UserFileListing;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of mapping one page of the joined file listing to response DTOs with
+ * {@link FileService#convertToDto}. The page mixes the user's own files with files
+ * shared by another user, as a typical listing does.
+ * <p>
+ * Run with {@code ./gradlew jmh -Pjmh.includes=FileServiceMappingBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FileServiceMappingBenchmark {
+
+    private static final int PAGE_SIZE = 30;
+
+    private FileService fileService;
+    private List<UserFileListing> page;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        fileService = new FileService(null, null, null, null, null, null, null, null);
+
+        page = new ArrayList<>(PAGE_SIZE);
+        LocalDateTime createdAt = LocalDateTime.of(2025, 1, 1, 12, 0);
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            boolean shared = i % 3 == 0;
+            page.add(UserFileListing.builder()
+                    .id((long) i + 1)
+                    .userId(7)
+                    .fileName("document-" + i + ".pdf")
+                    .fileSizeBytes(1_048_576L + i)
+                    .contentType("application/pdf")
+                    .createdAt(createdAt.minusMinutes(i))
+                    .ownerUserId(shared ? 11L : 7L)
+                    .ownerName(shared ? "Ada Lovelace" : null)
+                    .build());
+        }
+    }
+
+    @Benchmark
+    public List<UserFileDto> convertPage() {
+        List<UserFileDto> dtos = new ArrayList<>(page.size());
+        for (UserFileListing file : page) {
+            dtos.add(fileService.convertToDto(file));
+        }
+        return dtos;
+    }
+}
@@ -0,0 +1,98 @@
+package org.clouds.server.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.util.unit.DataSize;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of {@link S3Service}'s own upload and download paths (buffering, multipart splitting,
+ * stream copying) against an in-memory S3, with network time taken out of the picture.
+ * The largest size crosses the multipart threshold and is uploaded in concurrent parts.
+ * <p>
+ * Run with {@code ./gradlew jmh -Pjmh.includes=S3ServiceBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class S3ServiceBenchmark {
+
+    private static final String BUCKET = "benchmark-bucket";
+    private static final String CONTENT_TYPE = "application/octet-stream";
+    private static final String DOWNLOAD_KEY = "documents/benchmark-download";
+
+    @Param({"65536", "4194304", "33554432"})
+    private int sizeBytes;
+
+    private InMemoryS3Client s3Client;
+    private ExecutorService partUploadExecutor;
+    private S3Service s3Service;
+    private byte[] content;
+    private byte[] copyBuffer;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        s3Client = new InMemoryS3Client();
+        partUploadExecutor = Executors.newFixedThreadPool(16);
+        s3Service = new S3Service(s3Client, BUCKET, DataSize.ofMegabytes(16), DataSize.ofMegabytes(8),
+                4, partUploadExecutor, new SimpleMeterRegistry());
+
+        content = new byte[sizeBytes];
+        ThreadLocalRandom.current().nextBytes(content);
+        copyBuffer = new byte[8192];
+
+        s3Service.uploadFile(content, CONTENT_TYPE, DOWNLOAD_KEY);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        s3Service.shutdown();
+        partUploadExecutor.shutdownNow();
+        s3Client.close();
+    }
+
+    @Benchmark
+    public void uploadBytes() {
+        s3Service.uploadFile(content, CONTENT_TYPE, "documents/benchmark-upload-bytes");
+    }
+
+    @Benchmark
+    public void uploadStream() {
+        s3Service.uploadFile(new ByteArrayInputStream(content), content.length, CONTENT_TYPE,
+                "documents/benchmark-upload-stream");
+    }
+
+    @Benchmark
+    public void downloadStream(Blackhole blackhole) throws IOException {
+        try (ResponseInputStream<GetObjectResponse> stream = s3Service.openDownloadStream(DOWNLOAD_KEY)) {
+            int read;
+            while ((read = stream.read(copyBuffer)) != -1) {
+                blackhole.consume(read);
+            }
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package org.clouds.server.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.task.SimpleAsyncTaskExecutorBuilder;
+import org.springframework.boot.task.ThreadPoolTaskExecutorBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Executors used by asynchronous request handling and file operations.
+ * Declaring any executor bean makes Spring Boot back off from its default one,
+ * so the application task executor used by Spring MVC async requests is
+ * redeclared here with the standard {@code spring.task.execution.*} settings.
+ * <p>
+ * With {@code spring.threads.virtual.enabled=true} Tomcat serves requests on virtual
+ * threads and both executors below switch to virtual threads as well. The file
+ * operation executor keeps a concurrency limit so it cannot open more JDBC
+ * work in parallel than the platform pool would.
+ * <p>
+ * Background jobs run on their own bounded executor so long deletions cannot starve
+ * request-driven file operations.
+ */
+@Configuration
+public class AsyncConfiguration {
+
+    @Configuration
+    @ConditionalOnThreading(Threading.PLATFORM)
+    static class PlatformThreadExecutors {
+
+        @Value("${app.file-operations.pool-size:16}")
+        private int fileOperationPoolSize;
+
+        @Value("${app.file-operations.queue-capacity:1000}")
+        private int fileOperationQueueCapacity;
+
+        @Value("${app.jobs.workers:4}")
+        private int backgroundJobWorkers;
+
+        @Bean(name = TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+        public ThreadPoolTaskExecutor applicationTaskExecutor(ThreadPoolTaskExecutorBuilder builder) {
+            return builder.build();
+        }
+
+        @Bean
+        public ThreadPoolTaskExecutor fileOperationExecutor(ThreadPoolTaskExecutorBuilder builder) {
+            return builder
+                    .threadNamePrefix("file-op-")
+                    .corePoolSize(fileOperationPoolSize)
+                    .maxPoolSize(fileOperationPoolSize)
+                    .queueCapacity(fileOperationQueueCapacity)
+                    .build();
+        }
+
+        @Bean
+        public ThreadPoolTaskExecutor backgroundJobExecutor(ThreadPoolTaskExecutorBuilder builder) {
+            return builder
+                    .threadNamePrefix("job-")
+                    .corePoolSize(backgroundJobWorkers)
+                    .maxPoolSize(backgroundJobWorkers)
+                    .queueCapacity(0)
+                    .build();
+        }
+    }
+
+    @Configuration
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    static class VirtualThreadExecutors {
+
+        @Value("${app.file-operations.pool-size:16}")
+        private int fileOperationPoolSize;
+
+        @Value("${app.jobs.workers:4}")
+        private int backgroundJobWorkers;
+
+        @Bean(name = TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+        public SimpleAsyncTaskExecutor applicationTaskExecutor(SimpleAsyncTaskExecutorBuilder builder) {
+            return builder.build();
+        }
+
+        @Bean
+        public SimpleAsyncTaskExecutor fileOperationExecutor(SimpleAsyncTaskExecutorBuilder builder) {
+            return builder
+                    .threadNamePrefix("file-op-")
+                    .virtualThreads(true)
+                    .concurrencyLimit(fileOperationPoolSize)
+                    .build();
+        }
+
+        @Bean
+        public SimpleAsyncTaskExecutor backgroundJobExecutor(SimpleAsyncTaskExecutorBuilder builder) {
+            return builder
+                    .threadNamePrefix("job-")
+                    .virtualThreads(true)
+                    .concurrencyLimit(backgroundJobWorkers)
+                    .build();
+        }
+    }
+}
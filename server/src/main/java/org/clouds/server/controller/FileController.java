@@ -6,22 +6,42 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.clouds.server.dto.request.FileUploadRequestDto;
+import org.clouds.server.dto.request.PresignedUploadCompleteRequestDto;
+import org.clouds.server.dto.request.UploadSessionCommitRequestDto;
+import org.clouds.server.dto.request.UploadSessionRequestDto;
 import org.clouds.server.dto.responses.ApiResponse;
+import org.clouds.server.dto.responses.BulkTransferResponseDto;
 import org.clouds.server.dto.responses.FileUploadResponseDto;
+import org.clouds.server.dto.responses.PresignedUrlResponseDto;
+import org.clouds.server.dto.responses.UploadSessionResponseDto;
 import org.clouds.server.dto.responses.UserFilesResponseDto;
+import org.clouds.server.dto.request.BulkFileTransferRequestDto;
 import org.clouds.server.dto.request.FileTransferRequestDto;
 import org.clouds.server.exception.FileOperationException;
+import org.clouds.server.exception.ValidationException;
 import org.clouds.server.service.AuthenticationService;
+import org.clouds.server.service.ChunkedUploadService;
 import org.clouds.server.service.FileService;
 import org.clouds.server.service.SessionCookieService;
 import org.hibernate.mapping.Map;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * REST controller for file operations including upload, download, deletion, and transfer.
@@ -41,8 +61,12 @@ public class FileController {
     private static final String FILE_CONTENT_UPLOADED_SUCCESS = "File content uploaded successfully";
     private static final String FILE_DELETED_SUCCESS = "File deleted successfully";
     private static final String FILE_TRANSFERRED_SUCCESS = "File transferred successfully";
+    private static final String FILES_TRANSFERRED_SUCCESS = "Files transferred successfully";
+    private static final String CHUNK_UPLOADED_SUCCESS = "Chunk uploaded successfully";
+    private static final String UPLOAD_SESSION_ABORTED_SUCCESS = "Upload session aborted successfully";
 
     private final FileService fileService;
+    private final ChunkedUploadService chunkedUploadService;
     private final AuthenticationService authenticationService;
     @Getter
     private final SessionCookieService sessionCookieService;
@@ -59,17 +83,19 @@ public class FileController {
             @Valid @RequestBody FileUploadRequestDto requestDto,
             HttpServletRequest request) {
 
-        log.info("Received file upload request for file: {}", requestDto.getFileName());
+        log.debug("Received file upload request for file: {}", requestDto.getFileName());
 
         Integer userId = authenticationService.authenticateUser(request);
         FileUploadResponseDto response = fileService.saveFileMetadata(requestDto, userId);
 
-        log.info("File metadata saved successfully for user {}: {}", userId, response);
+        log.debug("File metadata saved successfully for user {}: {}", userId, response);
         return ResponseEntity.ok(response);
     }
 
     /**
      * Uploads encrypted file content for a specific file ID.
+     * The content is spooled to a temporary file and sent to S3 by the non-blocking
+     * client, so the request thread is released while the upload is in flight.
      *
      * @param fileId The ID of the file to upload content for
      * @param encryptedContent The encrypted file content as a multipart file
@@ -78,10 +104,10 @@ public class FileController {
      * @param keyIv Initialization vector for key encryption
      * @param tag Authentication tag for content verification
      * @param request HTTP servlet request for session validation
-     * @return ResponseEntity with a success message or error
+     * @return Future of the ResponseEntity with a success message or error
      */
     @PostMapping("/upload/content/{fileId}")
-    public ResponseEntity<ApiResponse<Void>> uploadFileContent(
+    public CompletableFuture<ResponseEntity<ApiResponse<Void>>> uploadFileContent(
             @PathVariable Long fileId,
             @RequestParam("encryptedContent") MultipartFile encryptedContent,
             @RequestParam("encryptedKey") String encryptedKey,
@@ -90,41 +116,267 @@ public class FileController {
             @RequestParam("tag") String tag,
             HttpServletRequest request) {
 
-        log.info("Received file content upload request for fileId: {}", fileId);
+        log.debug("Received file content upload request for fileId: {}", fileId);
 
         Integer userId = authenticationService.authenticateUser(request);
 
+        Path contentFile;
+        try {
+            contentFile = Files.createTempFile("clouds-upload-", ".bin");
+        } catch (IOException e) {
+            log.error("Error creating temporary file for fileId: {}", fileId, e);
+            throw new FileOperationException("Failed to read file content", e);
+        }
+
+        // Once the upload is handed off, the future owns the temporary file; until then it is
+        // deleted here on any failure
         try {
-            byte[] fileContent = encryptedContent.getBytes();
-            fileService.saveFileContent(fileId, userId, fileContent, encryptedKey, iv, tag, keyIv);
+            encryptedContent.transferTo(contentFile);
+
+            return fileService.saveFileContentAsync(fileId, userId, contentFile, encryptedKey, iv, tag, keyIv)
+                    .whenComplete((result, error) -> deleteTempFile(contentFile))
+                    .thenApply(result -> {
+                        log.debug("File content uploaded successfully for fileId: {} by user: {}", fileId, userId);
+                        return ResponseEntity.ok(ApiResponse.<Void>success(FILE_CONTENT_UPLOADED_SUCCESS));
+                    });
+        } catch (IOException e) {
+            deleteTempFile(contentFile);
+            log.error("Error reading file content for fileId: {}", fileId, e);
+            throw new FileOperationException("Failed to read file content", e);
+        } catch (RuntimeException e) {
+            deleteTempFile(contentFile);
+            throw e;
+        }
+    }
 
-            log.info("File content uploaded successfully for fileId: {} by user: {}", fileId, userId);
+    /**
+     * Uploads encrypted file content sent as a raw request body.
+     * The body is streamed from the servlet input stream directly to S3, so memory
+     * use per upload stays constant regardless of the file size. The request must
+     * declare its Content-Length.
+     *
+     * @param fileId The ID of the file to upload content for
+     * @param encryptedKey The encrypted symmetric key
+     * @param iv Initialization vector for content encryption
+     * @param keyIv Initialization vector for key encryption
+     * @param tag Authentication tag for content verification
+     * @param request HTTP servlet request carrying the encrypted content as its body
+     * @return ResponseEntity with a success message or error
+     */
+    @PutMapping(value = "/upload/content/{fileId}", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<ApiResponse<Void>> streamFileContent(
+            @PathVariable Long fileId,
+            @RequestParam("encryptedKey") String encryptedKey,
+            @RequestParam("iv") String iv,
+            @RequestParam("keyIv") String keyIv,
+            @RequestParam("tag") String tag,
+            HttpServletRequest request) {
+
+        log.debug("Received streaming file content upload request for fileId: {}", fileId);
+
+        Integer userId = authenticationService.authenticateUser(request);
+
+        long contentLength = request.getContentLengthLong();
+        if (contentLength <= 0) {
+            throw ValidationException.single("Content-Length", "Content-Length header is required for streaming uploads");
+        }
+
+        try (InputStream contentStream = request.getInputStream()) {
+            fileService.saveFileContent(fileId, userId, contentStream, contentLength,
+                    encryptedKey, iv, tag, keyIv);
+
+            log.debug("File content streamed successfully for fileId: {} by user: {}", fileId, userId);
             return ResponseEntity.ok(ApiResponse.success(FILE_CONTENT_UPLOADED_SUCCESS));
 
         } catch (IOException e) {
-            log.error("Error reading file content for fileId: {}", fileId, e);
+            log.error("Error reading streamed file content for fileId: {}", fileId, e);
             throw new FileOperationException("Failed to read file content", e);
         }
     }
 
+    /**
+     * Issues a short-lived pre-signed URL for uploading encrypted file content directly to S3.
+     *
+     * @param fileId The ID of the file to upload content for
+     * @param request HTTP servlet request for session validation
+     * @return ResponseEntity containing the pre-signed URL
+     */
+    @PostMapping("/upload/presigned/{fileId}")
+    public ResponseEntity<ApiResponse<PresignedUrlResponseDto>> createPresignedUpload(
+            @PathVariable Long fileId,
+            HttpServletRequest request) {
+
+        log.debug("Received pre-signed upload request for fileId: {}", fileId);
+
+        Integer userId = authenticationService.authenticateUser(request);
+        PresignedUrlResponseDto response = fileService.createPresignedUpload(fileId, userId);
+
+        return ResponseEntity.ok(ApiResponse.success("Pre-signed upload URL issued successfully", response));
+    }
+
+    /**
+     * Records the encryption details once the client has uploaded content through a pre-signed URL.
+     *
+     * @param fileId The ID of the file
+     * @param requestDto The encryption details of the uploaded content
+     * @param request HTTP servlet request for session validation
+     * @return ResponseEntity with a success message or error
+     */
+    @PostMapping("/upload/presigned/{fileId}/complete")
+    public ResponseEntity<ApiResponse<Void>> completePresignedUpload(
+            @PathVariable Long fileId,
+            @Valid @RequestBody PresignedUploadCompleteRequestDto requestDto,
+            HttpServletRequest request) {
+
+        log.debug("Received pre-signed upload completion for fileId: {}", fileId);
+
+        Integer userId = authenticationService.authenticateUser(request);
+        fileService.completePresignedUpload(fileId, userId, requestDto.getEncryptedKey(),
+                requestDto.getIv(), requestDto.getTag(), requestDto.getKeyIv());
+
+        return ResponseEntity.ok(ApiResponse.success(FILE_CONTENT_UPLOADED_SUCCESS));
+    }
+
+    /**
+     * Starts a resumable chunked upload session, creating the file metadata.
+     *
+     * @param requestDto The file metadata and number of chunks to be uploaded
+     * @param request HTTP servlet request for session validation
+     * @return ResponseEntity containing the upload session and its missing chunks
+     */
+    @PostMapping("/upload/sessions")
+    public ResponseEntity<ApiResponse<UploadSessionResponseDto>> createUploadSession(
+            @Valid @RequestBody UploadSessionRequestDto requestDto,
+            HttpServletRequest request) {
+
+        log.debug("Received upload session request for file: {}", requestDto.getFileName());
+
+        Integer userId = authenticationService.authenticateUser(request);
+        UploadSessionResponseDto response = chunkedUploadService.createSession(requestDto, userId);
+
+        return ResponseEntity.ok(ApiResponse.success("Upload session created successfully", response));
+    }
+
+    /**
+     * Uploads one chunk of a resumable upload session as a raw request body.
+     * Chunks may be sent in parallel and re-sent after failures.
+     *
+     * @param sessionId The upload session ID
+     * @param chunkNumber The 1-based chunk number
+     * @param request HTTP servlet request carrying the chunk as its body
+     * @return ResponseEntity with a success message or error
+     */
+    @PutMapping(value = "/upload/sessions/{sessionId}/chunks/{chunkNumber}",
+            consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<ApiResponse<Void>> uploadChunk(
+            @PathVariable String sessionId,
+            @PathVariable int chunkNumber,
+            HttpServletRequest request) {
+
+        log.debug("Received chunk {} for upload session: {}", chunkNumber, sessionId);
+
+        Integer userId = authenticationService.authenticateUser(request);
+
+        long contentLength = request.getContentLengthLong();
+        if (contentLength <= 0) {
+            throw ValidationException.single("Content-Length", "Content-Length header is required for chunk uploads");
+        }
+
+        try (InputStream chunkStream = request.getInputStream()) {
+            chunkedUploadService.uploadChunk(sessionId, userId, chunkNumber, chunkStream, contentLength);
+            return ResponseEntity.ok(ApiResponse.success(CHUNK_UPLOADED_SUCCESS));
+        } catch (IOException e) {
+            log.error("Error reading chunk {} for upload session: {}", chunkNumber, sessionId, e);
+            throw new FileOperationException("Failed to read chunk content", e);
+        }
+    }
+
+    /**
+     * Retrieves the state of a resumable upload session, including the chunks still missing.
+     *
+     * @param sessionId The upload session ID
+     * @param request HTTP servlet request for session validation
+     * @return ResponseEntity containing the upload session and its missing chunks
+     */
+    @GetMapping("/upload/sessions/{sessionId}")
+    public ResponseEntity<ApiResponse<UploadSessionResponseDto>> getUploadSession(
+            @PathVariable String sessionId,
+            HttpServletRequest request) {
+
+        Integer userId = authenticationService.authenticateUser(request);
+        UploadSessionResponseDto response = chunkedUploadService.getSessionStatus(sessionId, userId);
+
+        return ResponseEntity.ok(ApiResponse.success("Upload session retrieved successfully", response));
+    }
+
+    /**
+     * Commits a resumable upload session once all chunks are stored.
+     *
+     * @param sessionId The upload session ID
+     * @param commitDto The encryption details of the uploaded content
+     * @param request HTTP servlet request for session validation
+     * @return ResponseEntity containing the file upload response
+     */
+    @PostMapping("/upload/sessions/{sessionId}/commit")
+    public ResponseEntity<FileUploadResponseDto> commitUploadSession(
+            @PathVariable String sessionId,
+            @Valid @RequestBody UploadSessionCommitRequestDto commitDto,
+            HttpServletRequest request) {
+
+        log.debug("Received commit request for upload session: {}", sessionId);
+
+        Integer userId = authenticationService.authenticateUser(request);
+        FileUploadResponseDto response = chunkedUploadService.commitSession(sessionId, userId, commitDto);
+
+        log.debug("Upload session {} committed for user {}: {}", sessionId, userId, response);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Aborts a resumable upload session and discards its chunks and file metadata.
+     *
+     * @param sessionId The upload session ID
+     * @param request HTTP servlet request for session validation
+     * @return ResponseEntity with a success message or error
+     */
+    @DeleteMapping("/upload/sessions/{sessionId}")
+    public ResponseEntity<ApiResponse<Void>> abortUploadSession(
+            @PathVariable String sessionId,
+            HttpServletRequest request) {
+
+        log.debug("Received abort request for upload session: {}", sessionId);
+
+        Integer userId = authenticationService.authenticateUser(request);
+        chunkedUploadService.abortSession(sessionId, userId);
+
+        return ResponseEntity.ok(ApiResponse.success(UPLOAD_SESSION_ABORTED_SUCCESS));
+    }
+
     /**
      * Retrieves paginated list of user's files.
+     * Plain {@code page} requests use offset pagination and report the current page and total.
+     * Clients opt in to keyset pagination by sending a {@code cursor}, empty for the first page;
+     * each keyset page returns a {@code nextCursor} for the following one.
      *
      * @param request HTTP servlet request for session validation
      * @param page Page number for pagination (0-based)
+     * @param cursor Cursor returned with the previous page, or empty to start keyset pagination
      * @return ResponseEntity containing user files or error
      */
     @GetMapping
     public ResponseEntity<ApiResponse<UserFilesResponseDto>> getUserFiles(
             HttpServletRequest request,
-            @RequestParam(defaultValue = "0") int page) {
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(required = false) String cursor) {
 
-        log.info("Received request to get user files, page: {}", page);
+        log.debug("Received request to get user files, page: {}, cursor: {}", page, cursor);
 
         Integer userId = authenticationService.authenticateUser(request);
-        UserFilesResponseDto response = fileService.getUserFiles(userId, page);
+        UserFilesResponseDto response = cursor != null
+                ? fileService.getUserFilesAfter(userId, cursor)
+                : fileService.getUserFiles(userId, page);
 
-        log.info("Returning {} files for user {}, page: {}",
+        log.debug("Returning {} files for user {}, page: {}",
                 response.getFiles().size(), userId, page);
 
         return ResponseEntity.ok(ApiResponse.success("Files retrieved successfully", response));
@@ -142,12 +394,12 @@ public class FileController {
             @PathVariable Long fileId,
             HttpServletRequest request) {
 
-        log.info("Received request to get file details for fileId: {}", fileId);
+        log.debug("Received request to get file details for fileId: {}", fileId);
 
         Integer userId = authenticationService.authenticateUser(request);
         Map fileDetails = (Map) fileService.getFileDetailsForDownload(fileId, userId);
 
-        log.info("File details retrieved successfully for fileId: {} by user: {}", fileId, userId);
+        log.debug("File details retrieved successfully for fileId: {} by user: {}", fileId, userId);
         return ResponseEntity.ok(ApiResponse.success("File details retrieved successfully", fileDetails));
     }
 
@@ -156,43 +408,130 @@ public class FileController {
      *
      * @param fileId The ID of the file to delete
      * @param request HTTP servlet request for session validation
-     * @return ResponseEntity with a success message or error
+     * @return Future of the ResponseEntity with a success message or error
      */
     @DeleteMapping("/{fileId}")
-    public ResponseEntity<ApiResponse<Void>> deleteFile(
+    public CompletableFuture<ResponseEntity<ApiResponse<Void>>> deleteFile(
             @PathVariable Long fileId,
             HttpServletRequest request) {
 
-        log.info("Received request to delete file with ID: {}", fileId);
+        log.debug("Received request to delete file with ID: {}", fileId);
 
         Integer userId = authenticationService.authenticateUser(request);
-        fileService.deleteFile(fileId, userId);
 
-        log.info("File deleted successfully: fileId={} by user={}", fileId, userId);
-        return ResponseEntity.ok(ApiResponse.success(FILE_DELETED_SUCCESS));
+        return fileService.deleteFileAsync(fileId, userId)
+                .thenApply(result -> {
+                    log.debug("File deleted successfully: fileId={} by user={}", fileId, userId);
+                    return ResponseEntity.ok(ApiResponse.<Void>success(FILE_DELETED_SUCCESS));
+                });
     }
 
     /**
      * Downloads encrypted file content.
+     * The S3 object is streamed directly to the response, so memory use per
+     * request stays constant regardless of the file size. A single byte range
+     * may be requested through the Range header, in which case only that range
+     * is fetched from S3 and returned as 206 Partial Content. Multiple or
+     * malformed ranges are ignored and the whole file is returned.
      *
      * @param fileId The ID of the file to download
+     * @param rangeHeader Optional HTTP Range header
      * @param request HTTP servlet request for session validation
-     * @return ResponseEntity containing file content as byte array or error
+     * @return Future of the ResponseEntity streaming the file content or error
      */
     @GetMapping("/{fileId}/content")
-    public ResponseEntity<byte[]> downloadFile(
+    public CompletableFuture<ResponseEntity<StreamingResponseBody>> downloadFile(
             @PathVariable Long fileId,
+            @RequestHeader(value = HttpHeaders.RANGE, required = false) String rangeHeader,
             HttpServletRequest request) {
 
-        log.info("Received request to download file with ID: {}", fileId);
+        log.debug("Received request to download file with ID: {}", fileId);
 
         Integer userId = authenticationService.authenticateUser(request);
-        byte[] fileContent = fileService.downloadFile(fileId, userId);
+        String range = resolveSingleRange(rangeHeader);
+
+        return fileService.openFileContentStreamAsync(fileId, userId, range)
+                .thenApply(contentStream -> buildContentResponse(fileId, userId, range, contentStream));
+    }
 
-        log.info("File downloaded successfully: fileId={} by user={}", fileId, userId);
-        return ResponseEntity.ok()
+    /**
+     * Builds the streaming response for an open S3 object, as a full or partial response.
+     *
+     * @param fileId The ID of the downloaded file
+     * @param userId The ID of the requesting user
+     * @param range The range that was requested from S3, or null
+     * @param contentStream The open S3 object stream
+     * @return ResponseEntity streaming the file content
+     */
+    private ResponseEntity<StreamingResponseBody> buildContentResponse(Long fileId,
+                                                                      Integer userId,
+                                                                      String range,
+                                                                      ResponseInputStream<GetObjectResponse> contentStream) {
+        StreamingResponseBody body = outputStream -> {
+            try (contentStream) {
+                contentStream.transferTo(outputStream);
+            }
+            log.debug("File downloaded successfully: fileId={} by user={}", fileId, userId);
+        };
+
+        GetObjectResponse metadata = contentStream.response();
+        boolean partial = range != null && metadata.contentRange() != null;
+
+        ResponseEntity.BodyBuilder response = ResponseEntity
+                .status(partial ? HttpStatus.PARTIAL_CONTENT : HttpStatus.OK)
                 .contentType(MediaType.APPLICATION_OCTET_STREAM)
-                .body(fileContent);
+                .header(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+        if (partial) {
+            response.header(HttpHeaders.CONTENT_RANGE, metadata.contentRange());
+        }
+
+        Long contentLength = metadata.contentLength();
+        if (contentLength != null) {
+            response.contentLength(contentLength);
+        }
+
+        return response.body(body);
+    }
+
+    /**
+     * Issues a short-lived pre-signed URL for downloading encrypted file content directly from S3.
+     *
+     * @param fileId The ID of the file to download
+     * @param request HTTP servlet request for session validation
+     * @return ResponseEntity containing the pre-signed URL
+     */
+    @GetMapping("/{fileId}/content/presigned")
+    public ResponseEntity<ApiResponse<PresignedUrlResponseDto>> createPresignedDownload(
+            @PathVariable Long fileId,
+            HttpServletRequest request) {
+
+        log.debug("Received pre-signed download request for fileId: {}", fileId);
+
+        Integer userId = authenticationService.authenticateUser(request);
+        PresignedUrlResponseDto response = fileService.createPresignedDownload(fileId, userId);
+
+        return ResponseEntity.ok(ApiResponse.success("Pre-signed download URL issued successfully", response));
+    }
+
+    /**
+     * Normalizes a Range header into a single-range specifier that S3 understands.
+     *
+     * @param rangeHeader The raw Range header value, possibly null
+     * @return The normalized range, or null if the whole file should be returned
+     */
+    private String resolveSingleRange(String rangeHeader) {
+        if (rangeHeader == null || rangeHeader.isBlank()) {
+            return null;
+        }
+
+        try {
+            List<HttpRange> ranges = HttpRange.parseRanges(rangeHeader);
+            return ranges.size() == 1 ? HttpRange.toString(ranges) : null;
+        } catch (IllegalArgumentException e) {
+            log.warn("Ignoring malformed Range header: {}", rangeHeader);
+            return null;
+        }
     }
 
     /**
@@ -207,7 +546,7 @@ public class FileController {
             @Valid @RequestBody FileTransferRequestDto requestDto,
             HttpServletRequest request) {
 
-        log.info("Received file transfer request for fileId: {} to recipient: {}",
+        log.debug("Received file transfer request for fileId: {} to recipient: {}",
                 requestDto.getFileId(), requestDto.getRecipientEmail());
 
         Integer userId = authenticationService.authenticateUser(request);
@@ -220,10 +559,47 @@ public class FileController {
                 requestDto.getNewKeyIv()
         );
 
-        log.info("File transferred successfully: fileId={} from user={} to recipient={}",
+        log.debug("File transferred successfully: fileId={} from user={} to recipient={}",
                 requestDto.getFileId(), userId, requestDto.getRecipientEmail());
 
         return ResponseEntity.ok(ApiResponse.success(FILE_TRANSFERRED_SUCCESS));
     }
 
+    /**
+     * Transfers many files to many recipients in one request.
+     * Responds with 207 and per-item results if some items could not be transferred.
+     *
+     * @param requestDto The transfer items, each with a file, recipient and encryption details
+     * @param request HTTP servlet request for session validation
+     * @return ResponseEntity with a result for every item
+     */
+    @PostMapping("/transfer/bulk")
+    public ResponseEntity<ApiResponse<BulkTransferResponseDto>> transferFiles(
+            @Valid @RequestBody BulkFileTransferRequestDto requestDto,
+            HttpServletRequest request) {
+
+        Integer userId = authenticationService.authenticateUser(request);
+        BulkTransferResponseDto result = fileService.transferFiles(userId, requestDto.getTransfers());
+
+        if (result.getTransferred() < result.getResults().size()) {
+            log.debug("Transferred {} of {} items for user={}", result.getTransferred(), result.getResults().size(), userId);
+            return ResponseEntity.status(HttpStatus.MULTI_STATUS)
+                    .body(ApiResponse.<BulkTransferResponseDto>builder()
+                            .success(false)
+                            .message("Some files could not be transferred")
+                            .data(result)
+                            .build());
+        }
+
+        return ResponseEntity.ok(ApiResponse.success(FILES_TRANSFERRED_SUCCESS, result));
+    }
+
+    private void deleteTempFile(Path contentFile) {
+        try {
+            Files.deleteIfExists(contentFile);
+        } catch (IOException e) {
+            log.warn("Failed to delete temporary upload file: {}", contentFile, e);
+        }
+    }
+
 }
@@ -5,15 +5,18 @@ import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.clouds.server.dto.responses.ApiResponse;
+import org.clouds.server.dto.responses.BackgroundJobResponseDto;
 import org.clouds.server.dto.responses.PublicKeyResponseDto;
 import org.clouds.server.dto.responses.UserProfileResponseDto;
 import org.clouds.server.exception.UserNotFoundException;
+import org.clouds.server.model.BackgroundJobType;
 import org.clouds.server.model.User;
 import org.clouds.server.model.UserSecurity;
 import org.clouds.server.service.AuthenticationService;
-import org.clouds.server.service.FileService;
+import org.clouds.server.service.BackgroundJobService;
 import org.clouds.server.service.SessionCookieService;
 import org.clouds.server.service.UserService;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
@@ -44,7 +47,7 @@ public class UserController {
     
     private final UserService userService;
     private final AuthenticationService authenticationService;
-    private final FileService fileService;
+    private final BackgroundJobService backgroundJobService;
     private final SessionCookieService sessionCookieService;
 
     /**
@@ -104,48 +107,70 @@ public class UserController {
     }
     
     /**
-     * Deletes all files belonging to the current user.
+     * Queues deletion of all files belonging to the current user.
+     * Progress can be polled through {@link #getJobStatus(String)}.
      * 
      * @param request HTTP servlet request for authentication
-     * @return ResponseEntity with a success message
+     * @return ResponseEntity with the queued job
      */
     @PostMapping("/delete-files")
-    public ResponseEntity<ApiResponse<Void>> deleteUserFiles(HttpServletRequest request) {
-        log.info("Deleting all user files");
+    public ResponseEntity<ApiResponse<BackgroundJobResponseDto>> deleteUserFiles(HttpServletRequest request) {
+        log.info("Queueing deletion of all user files");
         
         Integer userId = authenticationService.authenticateUser(request);
-        fileService.deleteAllUserFiles(userId);
+        BackgroundJobResponseDto job = backgroundJobService.enqueue(BackgroundJobType.DELETE_USER_FILES, userId);
         
-        log.info("All files deleted successfully for userId: {}", userId);
-        return ResponseEntity.ok(ApiResponse.success("All user files deleted successfully"));
+        log.info("File deletion job {} queued for userId: {}", job.getJobId(), userId);
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(ApiResponse.success("File deletion queued", job));
     }
     
     /**
-     * Deletes the current user's account and all associated data.
+     * Queues deletion of the current user's account and all associated data.
+     * All sessions end immediately; files and account data are removed by the background job.
      * 
      * @param request HTTP servlet request for authentication
      * @param response HTTP servlet response for clearing session
-     * @return ResponseEntity with a success message
+     * @return ResponseEntity with the queued job
      */
     @PostMapping("/delete-account")
-    public ResponseEntity<ApiResponse<Void>> deleteUserAccount(
+    public ResponseEntity<ApiResponse<BackgroundJobResponseDto>> deleteUserAccount(
             HttpServletRequest request, 
             HttpServletResponse response) {
         
-        log.info("Deleting user account");
+        log.info("Queueing user account deletion");
         
         Integer userId = authenticationService.authenticateUser(request);
-        userService.deleteUserAccount(userId);
+        BackgroundJobResponseDto job = backgroundJobService.enqueue(BackgroundJobType.DELETE_USER_ACCOUNT, userId);
+        userService.revokeAllSessions(userId);
         
-        // Clear session after successful account deletion
+        // Clear session once the deletion is queued
         response.addCookie(sessionCookieService.clearSessionCookie());
         
-        log.info("User account deleted successfully for userId: {}", userId);
-        return ResponseEntity.ok(ApiResponse.success("Account deleted successfully"));
+        log.info("Account deletion job {} queued for userId: {}", job.getJobId(), userId);
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(ApiResponse.success("Account deletion queued", job));
     }
     
     /**
-     * Builds a user profile DTO from user ID.
+     * Retrieves the state of one of the current user's background jobs.
+     * 
+     * @param jobId The ID of the job
+     * @param request HTTP servlet request for authentication
+     * @return ResponseEntity containing the job state
+     */
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<ApiResponse<BackgroundJobResponseDto>> getJobStatus(
+            @PathVariable String jobId,
+            HttpServletRequest request) {
+        
+        Integer userId = authenticationService.authenticateUser(request);
+        BackgroundJobResponseDto job = backgroundJobService.getJob(jobId, userId);
+        return ResponseEntity.ok(ApiResponse.success("Job status retrieved successfully", job));
+    }
+    
+    /**
+     * Builds a user profile DTO from user ID, including the user's storage usage and file count.
      * 
      * @param userId The user ID
      * @return UserProfileDto containing profile information
@@ -166,6 +191,9 @@ public class UserController {
                 .surname(user.getSurname())
                 .email(user.getEmail())
                 .registrationDate(formattedDate)
+                .usedSpaceBytes(user.getUsedSpaceBytes())
+                .limitSpaceBytes(user.getLimitSpaceBytes())
+                .fileCount(user.getFileCount())
                 .build();
     }
     
@@ -0,0 +1,18 @@
+package org.clouds.server.dto.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkFileTransferRequestDto {
+    @NotEmpty(message = "transfers must not be empty")
+    private List<FileTransferRequestDto> transfers;
+}
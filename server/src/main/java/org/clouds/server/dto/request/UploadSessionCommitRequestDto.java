@@ -0,0 +1,17 @@
+package org.clouds.server.dto.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UploadSessionCommitRequestDto {
+    private String encryptedKey;
+    private String iv;
+    private String tag;
+    private String keyIv;
+}
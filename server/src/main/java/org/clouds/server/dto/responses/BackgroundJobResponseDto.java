@@ -0,0 +1,24 @@
+package org.clouds.server.dto.responses;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.clouds.server.model.BackgroundJobStatus;
+import org.clouds.server.model.BackgroundJobType;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BackgroundJobResponseDto {
+    private String jobId;
+    private BackgroundJobType jobType;
+    private BackgroundJobStatus status;
+    private int attempts;
+    private String message;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,17 @@
+package org.clouds.server.dto.responses;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkDeleteResponseDto {
+    private int deletedFiles;
+    private List<Long> failedFileIds;
+}
@@ -0,0 +1,18 @@
+package org.clouds.server.dto.responses;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FileTransferResultDto {
+    private Long fileId;
+    private String recipientEmail;
+    private boolean success;
+    private Long newFileId;
+    private String error;
+}
@@ -0,0 +1,21 @@
+package org.clouds.server.dto.responses;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PresignedUrlResponseDto {
+    private Long fileId;
+    private String url;
+    private String httpMethod;
+    private String contentType;
+    private Long contentLength;
+    private LocalDateTime expiresAt;
+}
@@ -0,0 +1,22 @@
+package org.clouds.server.dto.responses;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UploadSessionResponseDto {
+    private String sessionId;
+    private Long fileId;
+    private Integer totalChunks;
+    private Long chunkSizeBytes;
+    private List<Integer> missingChunks;
+    private LocalDateTime expiresAt;
+}
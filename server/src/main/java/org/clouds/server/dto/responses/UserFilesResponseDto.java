@@ -17,4 +17,5 @@ public class UserFilesResponseDto {
     private boolean hasMoreFiles;
     private int currentPage;
     private int totalFiles;
+    private String nextCursor;
 } 
\ No newline at end of file
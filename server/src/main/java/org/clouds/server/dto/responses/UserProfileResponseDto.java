@@ -21,5 +21,8 @@ public class UserProfileResponseDto {
     private String surname;
     private String email;
     private String registrationDate;
+    private Long usedSpaceBytes;
+    private Long limitSpaceBytes;
+    private Integer fileCount;
 }
 
@@ -4,6 +4,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.clouds.server.dto.responses.ApiResponse;
 import org.clouds.server.exception.base.CloudsBusinessException;
 import org.clouds.server.exception.base.CloudsTechnicalException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -66,6 +67,13 @@ public class GlobalExceptionHandler {
                 .body(ApiResponse.error(ex.getMessage(), ex.getErrorCode()));
     }
 
+    @ExceptionHandler(JobNotFoundException.class)
+    public ResponseEntity<ApiResponse<Void>> handleJobNotFound(JobNotFoundException ex) {
+        log.warn("Background job not found: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(ApiResponse.error(ex.getMessage(), ex.getErrorCode()));
+    }
+
     /*
      File-Related Exceptions
      */
@@ -90,6 +98,21 @@ public class GlobalExceptionHandler {
                 .body(ApiResponse.error(ex.getMessage(), ex.getErrorCode()));
     }
 
+    @ExceptionHandler(StorageQuotaExceededException.class)
+    public ResponseEntity<ApiResponse<Void>> handleStorageQuotaExceeded(StorageQuotaExceededException ex) {
+        log.warn("Storage quota exceeded: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE)
+                .body(ApiResponse.error(ex.getMessage(), ex.getErrorCode()));
+    }
+
+    @ExceptionHandler(RangeNotSatisfiableException.class)
+    public ResponseEntity<ApiResponse<Void>> handleRangeNotSatisfiable(RangeNotSatisfiableException ex) {
+        log.warn("Range not satisfiable: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+                .header(HttpHeaders.CONTENT_RANGE, "bytes */" + ex.getContentLength())
+                .body(ApiResponse.error(ex.getMessage(), ex.getErrorCode()));
+    }
+
     /*
       Storage-Related Exceptions
      */
@@ -0,0 +1,22 @@
+package org.clouds.server.exception;
+
+import org.clouds.server.exception.base.CloudsBusinessException;
+
+/**
+ * Exception thrown when a background job is not found.
+ *
+ * @author Bohdan
+ * @version 1.0
+ */
+public class JobNotFoundException extends CloudsBusinessException {
+
+    public static final String ERROR_CODE = "JOB_NOT_FOUND";
+
+    public JobNotFoundException(String message) {
+        super(message, ERROR_CODE);
+    }
+
+    public static JobNotFoundException byId(String jobId) {
+        return new JobNotFoundException("Background job not found with ID: " + jobId);
+    }
+}
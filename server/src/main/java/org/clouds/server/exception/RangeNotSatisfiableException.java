@@ -0,0 +1,29 @@
+package org.clouds.server.exception;
+
+import org.clouds.server.exception.base.FileException;
+
+/**
+ * Exception thrown when a requested byte range lies outside the stored file content.
+ *
+ * @author Bohdan
+ * @version 1.0
+ */
+public class RangeNotSatisfiableException extends FileException {
+
+    public static final String ERROR_CODE = "RANGE_NOT_SATISFIABLE";
+
+    private final long contentLength;
+
+    public RangeNotSatisfiableException(String message, long contentLength) {
+        super(message, ERROR_CODE);
+        this.contentLength = contentLength;
+    }
+
+    public long getContentLength() {
+        return contentLength;
+    }
+
+    public static RangeNotSatisfiableException forRange(String range, long contentLength) {
+        return new RangeNotSatisfiableException("Requested range not satisfiable: " + range, contentLength);
+    }
+}
@@ -0,0 +1,28 @@
+package org.clouds.server.exception;
+
+import org.clouds.server.exception.base.FileException;
+
+/**
+ * Exception thrown when a write would take a user over their storage quota.
+ *
+ * @author Bohdan
+ * @version 1.0
+ */
+public class StorageQuotaExceededException extends FileException {
+
+    public static final String ERROR_CODE = "STORAGE_QUOTA_EXCEEDED";
+
+    public StorageQuotaExceededException(String message) {
+        super(message, ERROR_CODE);
+    }
+
+    public static StorageQuotaExceededException forBytes(long requestedBytes) {
+        return new StorageQuotaExceededException(
+                "Storage quota exceeded: " + requestedBytes + " more bytes do not fit within the quota");
+    }
+
+    public static StorageQuotaExceededException contentTooLarge(Long fileId, long fileSizeBytes) {
+        return new StorageQuotaExceededException(
+                "Content of file " + fileId + " is larger than its declared size of " + fileSizeBytes + " bytes");
+    }
+}
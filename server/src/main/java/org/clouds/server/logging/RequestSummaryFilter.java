@@ -0,0 +1,111 @@
+package org.clouds.server.logging;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Emits one structured summary event per request (method, route, status, duration and user)
+ * in place of per-step INFO lines on the hot paths.
+ * A sampled fraction of requests is marked in the MDC so that {@link SampledDebugTurboFilter}
+ * lets their DEBUG detail through; all other requests pay only the disabled-level check.
+ * Asynchronous requests are summarized once their async dispatch completes.
+ *
+ * @author Bohdan
+ * @version 1.0
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@Slf4j(topic = "request.summary")
+public class RequestSummaryFilter extends OncePerRequestFilter {
+
+    public static final String REQUEST_ID_KEY = "requestId";
+    public static final String SAMPLED_KEY = "sampled";
+    public static final String USER_ID_KEY = "userId";
+
+    private static final String START_NANOS_ATTRIBUTE = RequestSummaryFilter.class.getName() + ".startNanos";
+    private static final String REQUEST_ID_ATTRIBUTE = RequestSummaryFilter.class.getName() + ".requestId";
+    private static final String SAMPLED_ATTRIBUTE = RequestSummaryFilter.class.getName() + ".sampled";
+    private static final String USER_ID_ATTRIBUTE = RequestSummaryFilter.class.getName() + ".userId";
+
+    @Value("${app.logging.debug-sample-rate:0.01}")
+    private double debugSampleRate;
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        if (request.getAttribute(START_NANOS_ATTRIBUTE) == null) {
+            request.setAttribute(START_NANOS_ATTRIBUTE, System.nanoTime());
+            request.setAttribute(REQUEST_ID_ATTRIBUTE, UUID.randomUUID().toString());
+            request.setAttribute(SAMPLED_ATTRIBUTE, ThreadLocalRandom.current().nextDouble() < debugSampleRate);
+        }
+
+        boolean sampled = (Boolean) request.getAttribute(SAMPLED_ATTRIBUTE);
+        MDC.put(REQUEST_ID_KEY, (String) request.getAttribute(REQUEST_ID_ATTRIBUTE));
+        if (sampled) {
+            MDC.put(SAMPLED_KEY, "true");
+        }
+        Object userId = request.getAttribute(USER_ID_ATTRIBUTE);
+        if (userId != null) {
+            MDC.put(USER_ID_KEY, userId.toString());
+        }
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            String authenticatedUserId = MDC.get(USER_ID_KEY);
+            if (authenticatedUserId != null) {
+                request.setAttribute(USER_ID_ATTRIBUTE, authenticatedUserId);
+            }
+
+            if (!request.isAsyncStarted()) {
+                logSummary(request, response, sampled, authenticatedUserId);
+            }
+
+            MDC.remove(REQUEST_ID_KEY);
+            MDC.remove(SAMPLED_KEY);
+            MDC.remove(USER_ID_KEY);
+        }
+    }
+
+    private void logSummary(HttpServletRequest request, HttpServletResponse response,
+                            boolean sampled, String userId) {
+        if (!log.isInfoEnabled()) {
+            return;
+        }
+
+        long durationMicros = (System.nanoTime() - (Long) request.getAttribute(START_NANOS_ATTRIBUTE)) / 1_000;
+        Object route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+
+        log.atInfo()
+                .addKeyValue("method", request.getMethod())
+                .addKeyValue("route", route != null ? route : request.getRequestURI())
+                .addKeyValue("status", response.getStatus())
+                .addKeyValue("durationMicros", durationMicros)
+                .addKeyValue(USER_ID_KEY, userId)
+                .addKeyValue(SAMPLED_KEY, sampled)
+                .log("request completed");
+    }
+}
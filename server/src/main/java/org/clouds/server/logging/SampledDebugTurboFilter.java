@@ -0,0 +1,48 @@
+package org.clouds.server.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.MDC;
+import org.slf4j.Marker;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Logback turbo filter that lets DEBUG events of the configured application loggers through
+ * for requests sampled by {@link RequestSummaryFilter}, regardless of the logger level.
+ * Every other decision is left to the configured levels.
+ *
+ * @author Bohdan
+ * @version 1.0
+ */
+public class SampledDebugTurboFilter extends TurboFilter {
+
+    private final List<String> loggerPrefixes = new ArrayList<>();
+
+    /**
+     * Adds a logger name prefix whose DEBUG events are emitted for sampled requests.
+     *
+     * @param loggerPrefix The logger name prefix, e.g. {@code file.}
+     */
+    public void addLoggerPrefix(String loggerPrefix) {
+        loggerPrefixes.add(loggerPrefix);
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (level != Level.DEBUG || MDC.get(RequestSummaryFilter.SAMPLED_KEY) == null) {
+            return FilterReply.NEUTRAL;
+        }
+
+        String loggerName = logger.getName();
+        for (String prefix : loggerPrefixes) {
+            if (loggerName.startsWith(prefix)) {
+                return FilterReply.ACCEPT;
+            }
+        }
+        return FilterReply.NEUTRAL;
+    }
+}
@@ -0,0 +1,26 @@
+package org.clouds.server.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BackgroundJob {
+    private String id;
+    private BackgroundJobType jobType;
+    private Integer userId;
+    private BackgroundJobStatus status;
+    private int attempts;
+    private String message;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private LocalDateTime availableAt;
+    private LocalDateTime lockedUntil;
+    private String lockToken;
+}
@@ -0,0 +1,8 @@
+package org.clouds.server.model;
+
+public enum BackgroundJobStatus {
+    QUEUED,
+    RUNNING,
+    SUCCEEDED,
+    FAILED
+}
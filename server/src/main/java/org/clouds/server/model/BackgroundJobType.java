@@ -0,0 +1,6 @@
+package org.clouds.server.model;
+
+public enum BackgroundJobType {
+    DELETE_USER_FILES,
+    DELETE_USER_ACCOUNT
+}
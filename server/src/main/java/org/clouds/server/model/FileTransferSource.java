@@ -0,0 +1,25 @@
+package org.clouds.server.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Everything needed to copy a file to another user: its metadata, the encryption details
+ * of its content and its original owner.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FileTransferSource {
+    private Long fileId;
+    private String fileName;
+    private Long fileSizeBytes;
+    private String contentType;
+    private String s3Key;
+    private String fileIv;
+    private String fileTag;
+    private Long ownerUserId;
+}
@@ -0,0 +1,20 @@
+package org.clouds.server.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SessionRevocation {
+    private Long id;
+    private String tokenId;
+    private Integer userId;
+    private LocalDateTime revokedAt;
+    private LocalDateTime expiresAt;
+}
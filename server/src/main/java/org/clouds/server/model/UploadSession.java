@@ -0,0 +1,24 @@
+package org.clouds.server.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UploadSession {
+    private String id;
+    private Long fileId;
+    private Integer userId;
+    private String s3Key;
+    private String s3UploadId;
+    private Integer totalChunks;
+    private Long chunkSizeBytes;
+    private LocalDateTime createdAt;
+    private LocalDateTime expiresAt;
+}
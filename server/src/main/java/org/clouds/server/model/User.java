@@ -49,12 +49,16 @@ public class User {
 
     private String profileImageKey;
 
-    @Column(nullable = false)
+    // Maintained by SQL alongside file writes; never written back from a loaded entity
+    @Column(nullable = false, updatable = false)
     private Long usedSpaceBytes;
 
     @Column(nullable = false)
     private Long limitSpaceBytes;
 
+    @Column(nullable = false, updatable = false)
+    private Integer fileCount;
+
     private String signupIp;
     private String lastLoginIp;
 
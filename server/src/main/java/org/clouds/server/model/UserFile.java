@@ -17,6 +17,7 @@ public class UserFile {
     private String fileName;
     private Long fileSizeBytes;
     private String s3Key;
+    private String pendingS3Key;
     private String contentType;
     private LocalDateTime createdAt;
 }
@@ -0,0 +1,26 @@
+package org.clouds.server.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A row of the joined file listing: file metadata together with its original owner.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserFileListing {
+    private Long id;
+    private Integer userId;
+    private String fileName;
+    private Long fileSizeBytes;
+    private String contentType;
+    private LocalDateTime createdAt;
+    private Long ownerUserId;
+    private String ownerName;
+}
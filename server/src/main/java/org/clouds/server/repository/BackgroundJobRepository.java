@@ -0,0 +1,180 @@
+package org.clouds.server.repository;
+
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+import org.clouds.server.model.BackgroundJob;
+import org.clouds.server.model.BackgroundJobStatus;
+import org.clouds.server.model.BackgroundJobType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+@Timed("clouds.db.repository")
+@Slf4j
+public class BackgroundJobRepository {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final RowMapper<BackgroundJob> backgroundJobRowMapper = (rs, rowNum) -> BackgroundJob.builder()
+            .id(rs.getString("id"))
+            .jobType(BackgroundJobType.valueOf(rs.getString("job_type")))
+            .userId(rs.getInt("user_id"))
+            .status(BackgroundJobStatus.valueOf(rs.getString("status")))
+            .attempts(rs.getInt("attempts"))
+            .message(rs.getString("message"))
+            .createdAt(rs.getObject("created_at", LocalDateTime.class))
+            .updatedAt(rs.getObject("updated_at", LocalDateTime.class))
+            .availableAt(rs.getObject("available_at", LocalDateTime.class))
+            .lockedUntil(rs.getObject("locked_until", LocalDateTime.class))
+            .lockToken(rs.getString("lock_token"))
+            .build();
+
+    /**
+     * Inserts a job unless the user already has a queued or running job of the same type. The
+     * unique partial index on active jobs makes this safe against concurrent enqueues.
+     *
+     * @return true if the job was inserted, false if an active job already exists
+     */
+    public boolean saveJobIfNoneActive(BackgroundJob job) {
+        log.debug("Repository: Saving {} job {} for user {}", job.getJobType(), job.getId(), job.getUserId());
+
+        String sql = "INSERT INTO background_jobs (id, job_type, user_id, status, attempts, message, " +
+                "created_at, updated_at, available_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?) " +
+                "ON CONFLICT (user_id, job_type) WHERE status IN ('QUEUED', 'RUNNING') DO NOTHING";
+
+        int rowsAffected = jdbcTemplate.update(sql,
+                job.getId(),
+                job.getJobType().name(),
+                job.getUserId(),
+                job.getStatus().name(),
+                job.getAttempts(),
+                job.getMessage(),
+                Timestamp.valueOf(job.getCreatedAt()),
+                Timestamp.valueOf(job.getUpdatedAt()),
+                Timestamp.valueOf(job.getAvailableAt()));
+
+        return rowsAffected == 1;
+    }
+
+    public BackgroundJob getJobById(String jobId) {
+        String sql = "SELECT * FROM background_jobs WHERE id = ?";
+
+        try {
+            return jdbcTemplate.queryForObject(sql, backgroundJobRowMapper, jobId);
+        } catch (EmptyResultDataAccessException e) {
+            log.debug("Repository: No background job found with ID: {}", jobId);
+            return null;
+        }
+    }
+
+    /**
+     * Finds a queued or running job of the given type for a user, so the same work is not enqueued twice.
+     */
+    public BackgroundJob getActiveJob(Integer userId, BackgroundJobType jobType) {
+        String sql = "SELECT * FROM background_jobs WHERE user_id = ? AND job_type = ? " +
+                "AND status IN ('QUEUED', 'RUNNING') ORDER BY created_at LIMIT 1";
+
+        List<BackgroundJob> jobs = jdbcTemplate.query(sql, backgroundJobRowMapper, userId, jobType.name());
+        return jobs.isEmpty() ? null : jobs.get(0);
+    }
+
+    /**
+     * Atomically claims up to {@code limit} runnable jobs: queued jobs that are due and running jobs whose
+     * lease has expired because their worker died, as long as they have attempts left. Concurrent workers on other nodes skip rows already
+     * locked by this claim. Each claimed job is stamped with {@code lockToken}, which the worker must
+     * present to extend the lease or record the outcome.
+     */
+    public List<BackgroundJob> claimJobs(int limit, LocalDateTime now, LocalDateTime lockedUntil, String lockToken,
+                                         int maxAttempts) {
+        String sql = "UPDATE background_jobs SET status = 'RUNNING', attempts = attempts + 1, " +
+                "locked_until = ?, lock_token = ?, updated_at = ? " +
+                "WHERE id IN (SELECT id FROM background_jobs " +
+                "WHERE (status = 'QUEUED' AND available_at <= ?) " +
+                "OR (status = 'RUNNING' AND locked_until < ? AND attempts < ?) " +
+                "ORDER BY available_at LIMIT ? FOR UPDATE SKIP LOCKED) " +
+                "RETURNING *";
+
+        return jdbcTemplate.query(sql, backgroundJobRowMapper,
+                Timestamp.valueOf(lockedUntil),
+                lockToken,
+                Timestamp.valueOf(now),
+                Timestamp.valueOf(now),
+                Timestamp.valueOf(now),
+                maxAttempts,
+                limit);
+    }
+
+    /**
+     * Fails running jobs whose lease expired on their last attempt. Their worker died without
+     * recording an outcome, for example by running out of memory, so running them again would
+     * likely kill the next worker too.
+     *
+     * @return The number of jobs marked as failed
+     */
+    public int failAbandonedJobs(LocalDateTime now, int maxAttempts) {
+        String sql = "UPDATE background_jobs SET status = 'FAILED', message = 'Worker stopped during the last attempt', " +
+                "locked_until = NULL, lock_token = NULL, updated_at = ? " +
+                "WHERE status = 'RUNNING' AND locked_until < ? AND attempts >= ?";
+
+        return jdbcTemplate.update(sql, Timestamp.valueOf(now), Timestamp.valueOf(now), maxAttempts);
+    }
+
+    /**
+     * Extends the lease of a running job, as long as the worker still holds it.
+     *
+     * @return true if the lease was extended, false if the job was reclaimed or has finished
+     */
+    public boolean extendLease(String jobId, String lockToken, LocalDateTime lockedUntil) {
+        String sql = "UPDATE background_jobs SET locked_until = ?, updated_at = ? " +
+                "WHERE id = ? AND lock_token = ? AND status = 'RUNNING'";
+
+        return jdbcTemplate.update(sql, Timestamp.valueOf(lockedUntil), Timestamp.valueOf(LocalDateTime.now()),
+                jobId, lockToken) == 1;
+    }
+
+    /**
+     * Marks a job as succeeded if the worker still holds its lease.
+     *
+     * @return true if the outcome was recorded, false if the lease was lost
+     */
+    public boolean completeJob(String jobId, String lockToken, String message) {
+        String sql = "UPDATE background_jobs SET status = 'SUCCEEDED', message = ?, locked_until = NULL, " +
+                "lock_token = NULL, updated_at = ? WHERE id = ? AND lock_token = ? AND status = 'RUNNING'";
+
+        return jdbcTemplate.update(sql, message, Timestamp.valueOf(LocalDateTime.now()), jobId, lockToken) == 1;
+    }
+
+    /**
+     * Requeues a job for another attempt if the worker still holds its lease.
+     *
+     * @return true if the job was requeued, false if the lease was lost
+     */
+    public boolean retryJob(String jobId, String lockToken, String message, LocalDateTime availableAt) {
+        String sql = "UPDATE background_jobs SET status = 'QUEUED', message = ?, locked_until = NULL, " +
+                "lock_token = NULL, available_at = ?, updated_at = ? " +
+                "WHERE id = ? AND lock_token = ? AND status = 'RUNNING'";
+
+        return jdbcTemplate.update(sql, message, Timestamp.valueOf(availableAt), Timestamp.valueOf(LocalDateTime.now()),
+                jobId, lockToken) == 1;
+    }
+
+    /**
+     * Marks a job as failed if the worker still holds its lease.
+     *
+     * @return true if the outcome was recorded, false if the lease was lost
+     */
+    public boolean failJob(String jobId, String lockToken, String message) {
+        String sql = "UPDATE background_jobs SET status = 'FAILED', message = ?, locked_until = NULL, " +
+                "lock_token = NULL, updated_at = ? WHERE id = ? AND lock_token = ? AND status = 'RUNNING'";
+
+        return jdbcTemplate.update(sql, message, Timestamp.valueOf(LocalDateTime.now()), jobId, lockToken) == 1;
+    }
+}
@@ -0,0 +1,76 @@
+package org.clouds.server.repository;
+
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Access to the {@code blobs} table. Reference counts are maintained by a trigger on
+ * {@code user_files}, so this repository only registers pending uploads and reads and removes
+ * unreferenced blobs.
+ */
+@Repository
+@Timed("clouds.db.repository")
+@Slf4j
+public class BlobRepository {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Registers the key of a pre-signed upload as an unreferenced blob released at the given time,
+     * so the reaper deletes the object if the upload is never completed.
+     */
+    public void savePendingBlob(String s3Key, LocalDateTime releasedAt) {
+        String sql = "INSERT INTO blobs (s3_key, ref_count, created_at, released_at) VALUES (?, 0, ?, ?) " +
+                "ON CONFLICT (s3_key) DO NOTHING";
+
+        jdbcTemplate.update(sql, s3Key, Timestamp.valueOf(LocalDateTime.now()), Timestamp.valueOf(releasedAt));
+    }
+
+    /**
+     * Locks a pending upload's blob so the reaper cannot delete it while the upload is being
+     * attached to its file. Must run inside the transaction that attaches it.
+     *
+     * @return true if the blob is still pending, false if it was already reaped
+     */
+    public boolean lockPendingBlob(String s3Key) {
+        String sql = "SELECT s3_key FROM blobs WHERE s3_key = ? AND ref_count = 0 FOR UPDATE";
+
+        return !jdbcTemplate.queryForList(sql, String.class, s3Key).isEmpty();
+    }
+
+    /**
+     * Locks up to {@code limit} blobs that lost their last reference before the given time.
+     * Must run inside a transaction; the locks keep the blobs from being referenced again
+     * until the transaction ends, and other reapers skip them.
+     *
+     * @return The S3 keys of the locked blobs
+     */
+    public List<String> lockUnreferencedKeys(LocalDateTime releasedBefore, int limit) {
+        String sql = "SELECT s3_key FROM blobs WHERE ref_count = 0 AND released_at <= ? " +
+                "ORDER BY released_at LIMIT ? FOR UPDATE SKIP LOCKED";
+
+        return jdbcTemplate.queryForList(sql, String.class, Timestamp.valueOf(releasedBefore), limit);
+    }
+
+    /**
+     * Removes blobs that are still unreferenced.
+     *
+     * @return The number of removed blobs
+     */
+    public int deleteUnreferenced(List<String> s3Keys) {
+        String sql = "DELETE FROM blobs WHERE ref_count = 0 AND s3_key = ANY(?)";
+
+        int rowsAffected = jdbcTemplate.update(sql,
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("varchar", s3Keys.toArray())));
+        log.debug("Repository: Deleted {} unreferenced blobs", rowsAffected);
+        return rowsAffected;
+    }
+}
@@ -1,5 +1,6 @@
 package org.clouds.server.repository;
 
+import io.micrometer.core.annotation.Timed;
 import org.clouds.server.model.FileOwner;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -9,9 +10,11 @@ import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Repository;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @Repository
+@Timed("clouds.db.repository")
 public class FileOwnerRepository {
     
     private static final Logger logger = LoggerFactory.getLogger(FileOwnerRepository.class);
@@ -43,6 +46,21 @@ public class FileOwnerRepository {
         }
     }
     
+    /**
+     * Inserts the owner records of many files with one JDBC batch.
+     *
+     * @param fileOwners The owner records to insert
+     */
+    public void saveFileOwners(List<FileOwner> fileOwners) {
+        String sql = "INSERT INTO file_owner (owner_user_id, file_id) VALUES (?, ?)";
+
+        jdbcTemplate.batchUpdate(sql, fileOwners, fileOwners.size(), (ps, fileOwner) -> {
+            ps.setLong(1, fileOwner.getOwnerUserId());
+            ps.setLong(2, fileOwner.getFileId());
+        });
+        logger.debug("Repository: Saved {} file owner records", fileOwners.size());
+    }
+
     public FileOwner getFileOwnerByFileId(Long fileId) {
         String sql = "SELECT * FROM file_owner WHERE file_id = ?";
         
@@ -70,4 +88,13 @@ public class FileOwnerRepository {
             throw e;
         }
     }
+
+    public int deleteByFileIds(List<Long> fileIds) {
+        String sql = "DELETE FROM file_owner WHERE file_id = ANY(?)";
+
+        int rowsAffected = jdbcTemplate.update(sql,
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("bigint", fileIds.toArray())));
+        logger.debug("Repository: Deleted {} file owner records for {} files", rowsAffected, fileIds.size());
+        return rowsAffected;
+    }
 } 
\ No newline at end of file
@@ -2,26 +2,24 @@ package org.clouds.server.repository;
 
 import org.clouds.server.model.LoginAttempt;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
 import java.util.List;
 
 public interface LoginAttemptRepository extends JpaRepository<LoginAttempt, Long> {
 
-    @Query("SELECT l FROM LoginAttempt l WHERE l.ipAddress = :ipAddress AND l.attemptTime > :startTime")
-    List<LoginAttempt> findRecentAttemptsByIpAddress(@Param("ipAddress") String ipAddress, @Param("startTime") Instant startTime);
-
-
-    @Query("SELECT l FROM LoginAttempt l WHERE l.email = :email AND l.attemptTime > :startTime")
-    List<LoginAttempt> findRecentAttemptsByEmail(@Param("email") String email, @Param("startTime") Instant startTime);
-
-
-    @Query("SELECT l FROM LoginAttempt l WHERE l.ipAddress = :ipAddress AND l.blocked = true AND l.blockExpiresAt > :now")
-    List<LoginAttempt> findActiveBlocksByIpAddress(@Param("ipAddress") String ipAddress, @Param("now") Instant now);
-
-
-    @Query("SELECT l FROM LoginAttempt l WHERE l.email = :email AND l.blocked = true AND l.blockExpiresAt > :now")
-    List<LoginAttempt> findActiveBlocksByEmail(@Param("email") String email, @Param("now") Instant now);
-} 
\ No newline at end of file
+    @Query("SELECT l FROM LoginAttempt l WHERE l.blocked = true AND l.blockExpiresAt > :now")
+    List<LoginAttempt> findActiveBlocks(@Param("now") Instant now);
+
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM login_attempts WHERE id IN (" +
+            "SELECT id FROM login_attempts WHERE attempt_time < :cutoff " +
+            "AND (block_expires_at IS NULL OR block_expires_at <= :now) LIMIT :batchSize FOR UPDATE SKIP LOCKED)",
+            nativeQuery = true)
+    int deleteStaleAttempts(@Param("cutoff") Instant cutoff, @Param("now") Instant now, @Param("batchSize") int batchSize);
+}
@@ -0,0 +1,56 @@
+package org.clouds.server.repository;
+
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+import org.clouds.server.model.SessionRevocation;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+@Timed("clouds.db.repository")
+@Slf4j
+public class SessionRevocationRepository {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final RowMapper<SessionRevocation> sessionRevocationRowMapper = (rs, rowNum) -> SessionRevocation.builder()
+            .id(rs.getLong("id"))
+            .tokenId(rs.getString("token_id"))
+            .userId(rs.getInt("user_id"))
+            .revokedAt(rs.getObject("revoked_at", LocalDateTime.class))
+            .expiresAt(rs.getObject("expires_at", LocalDateTime.class))
+            .build();
+
+    public void saveRevocation(SessionRevocation revocation) {
+        String sql = "INSERT INTO session_revocations (token_id, user_id, revoked_at, expires_at) VALUES (?, ?, ?, ?)";
+
+        jdbcTemplate.update(sql,
+                revocation.getTokenId(),
+                revocation.getUserId(),
+                Timestamp.valueOf(revocation.getRevokedAt()),
+                Timestamp.valueOf(revocation.getExpiresAt()));
+    }
+
+    public List<SessionRevocation> getActiveRevocations(LocalDateTime now) {
+        String sql = "SELECT id, token_id, user_id, revoked_at, expires_at FROM session_revocations " +
+                "WHERE expires_at > ?";
+
+        return jdbcTemplate.query(sql, sessionRevocationRowMapper, Timestamp.valueOf(now));
+    }
+
+    public int deleteExpiredRevocations(LocalDateTime now, int limit) {
+        String sql = "DELETE FROM session_revocations WHERE id IN (" +
+                "SELECT id FROM session_revocations WHERE expires_at <= ? LIMIT ? FOR UPDATE SKIP LOCKED)";
+
+        int rowsAffected = jdbcTemplate.update(sql, Timestamp.valueOf(now), limit);
+        log.debug("Repository: Deleted {} expired session revocations", rowsAffected);
+        return rowsAffected;
+    }
+}
@@ -0,0 +1,89 @@
+package org.clouds.server.repository;
+
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+import org.clouds.server.model.UploadSession;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+@Timed("clouds.db.repository")
+@Slf4j
+public class UploadSessionRepository {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final RowMapper<UploadSession> uploadSessionRowMapper = (rs, rowNum) -> UploadSession.builder()
+            .id(rs.getString("id"))
+            .fileId(rs.getLong("file_id"))
+            .userId(rs.getInt("user_id"))
+            .s3Key(rs.getString("s3_key"))
+            .s3UploadId(rs.getString("s3_upload_id"))
+            .totalChunks(rs.getInt("total_chunks"))
+            .chunkSizeBytes(rs.getLong("chunk_size_bytes"))
+            .createdAt(rs.getObject("created_at", LocalDateTime.class))
+            .expiresAt(rs.getObject("expires_at", LocalDateTime.class))
+            .build();
+
+    public UploadSession saveUploadSession(UploadSession session) {
+        log.debug("Repository: Saving upload session {} for file ID: {}", session.getId(), session.getFileId());
+
+        String sql = "INSERT INTO upload_sessions (id, file_id, user_id, s3_key, s3_upload_id, total_chunks, " +
+                "chunk_size_bytes, created_at, expires_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+        jdbcTemplate.update(sql,
+                session.getId(),
+                session.getFileId(),
+                session.getUserId(),
+                session.getS3Key(),
+                session.getS3UploadId(),
+                session.getTotalChunks(),
+                session.getChunkSizeBytes(),
+                Timestamp.valueOf(session.getCreatedAt()),
+                Timestamp.valueOf(session.getExpiresAt()));
+
+        return session;
+    }
+
+    public UploadSession getUploadSessionById(String sessionId) {
+        String sql = "SELECT * FROM upload_sessions WHERE id = ?";
+
+        try {
+            return jdbcTemplate.queryForObject(sql, uploadSessionRowMapper, sessionId);
+        } catch (Exception e) {
+            log.debug("Repository: No upload session found with ID: {}", sessionId);
+            return null;
+        }
+    }
+
+    /**
+     * Deletes a batch of expired upload sessions with one statement and returns them, so the
+     * caller can release their S3 uploads without holding any locks. Sessions locked by another
+     * sweeper are skipped.
+     *
+     * @param now   The current time
+     * @param limit The maximum number of sessions to delete
+     * @return The deleted expired sessions
+     */
+    public List<UploadSession> deleteExpiredSessions(LocalDateTime now, int limit) {
+        String sql = "DELETE FROM upload_sessions WHERE id IN (" +
+                "SELECT id FROM upload_sessions WHERE expires_at <= ? " +
+                "ORDER BY expires_at LIMIT ? FOR UPDATE SKIP LOCKED) RETURNING *";
+
+        return jdbcTemplate.query(sql, uploadSessionRowMapper, Timestamp.valueOf(now), limit);
+    }
+
+    public void deleteUploadSession(String sessionId) {
+        String sql = "DELETE FROM upload_sessions WHERE id = ?";
+
+        int rowsAffected = jdbcTemplate.update(sql, sessionId);
+        log.debug("Repository: Deleted {} upload session records for ID: {}", rowsAffected, sessionId);
+    }
+}
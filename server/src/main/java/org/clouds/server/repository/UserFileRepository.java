@@ -1,10 +1,15 @@
 package org.clouds.server.repository;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.extern.slf4j.Slf4j;
+import org.clouds.server.model.FileTransferSource;
 import org.clouds.server.model.UserFile;
+import org.clouds.server.model.UserFileListing;
+import org.clouds.server.model.UserFilesSecure;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.support.GeneratedKeyHolder;
@@ -15,17 +20,22 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Repository
+@Timed("clouds.db.repository")
 @Slf4j
 public class UserFileRepository {
 
     @Autowired
     private JdbcTemplate jdbcTemplate;
 
-    private final RowMapper<UserFile> userFileRowMapper = new RowMapper<UserFile>() {
+    final RowMapper<UserFile> userFileRowMapper = new RowMapper<UserFile>() {
         @Override
         public UserFile mapRow(ResultSet rs, int rowNum) throws SQLException {
             return UserFile.builder()
@@ -34,6 +44,7 @@ public class UserFileRepository {
                     .fileName(rs.getString("file_name"))
                     .fileSizeBytes(rs.getLong("file_size_bytes"))
                     .s3Key(rs.getString("s3_key"))
+                    .pendingS3Key(rs.getString("pending_s3_key"))
                     .contentType(rs.getString("content_type"))
                     .createdAt(rs.getObject("created_at", LocalDateTime.class))
                     .build();
@@ -41,7 +52,7 @@ public class UserFileRepository {
     };
 
     public UserFile saveFileMetadata(UserFile userFile) {
-        log.info("Repository: Saving file metadata to database: {}", userFile);
+        log.debug("Repository: Saving file metadata for user {}: {}", userFile.getUserId(), userFile.getFileName());
 
         String sql = "INSERT INTO user_files (user_id, file_name, file_size_bytes, content_type, created_at, s3_key) " +
                 "VALUES (?, ?, ?, ?, ?, ?)";
@@ -68,13 +79,222 @@ public class UserFileRepository {
         }
 
         userFile.setId(id);
-        log.info("Repository: File metadata saved successfully with ID: {}", id);
+        log.debug("Repository: File metadata saved successfully with ID: {}", id);
 
         return userFile;
     }
 
+    /**
+     * Inserts many files with one JDBC batch.
+     *
+     * @param userFiles The file metadata to insert; their IDs are set on return, in order
+     * @return The saved file metadata
+     */
+    public List<UserFile> saveFilesMetadata(List<UserFile> userFiles) {
+        log.debug("Repository: Saving metadata of {} files", userFiles.size());
+
+        String sql = "INSERT INTO user_files (user_id, file_name, file_size_bytes, content_type, created_at, s3_key) " +
+                "VALUES (?, ?, ?, ?, ?, ?)";
+        Timestamp createdAt = Timestamp.valueOf(LocalDateTime.now());
+
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(sql, new String[]{"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        UserFile userFile = userFiles.get(i);
+                        ps.setInt(1, userFile.getUserId());
+                        ps.setString(2, userFile.getFileName());
+                        ps.setLong(3, userFile.getFileSizeBytes());
+                        ps.setString(4, userFile.getContentType());
+                        ps.setTimestamp(5, createdAt);
+                        ps.setString(6, userFile.getS3Key());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return userFiles.size();
+                    }
+                }, keyHolder);
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        if (keys.size() != userFiles.size()) {
+            log.error("Repository: Got {} generated IDs for {} files", keys.size(), userFiles.size());
+            throw new RuntimeException("Failed to get generated IDs for files");
+        }
+
+        for (int i = 0; i < userFiles.size(); i++) {
+            userFiles.get(i).setId(((Number) keys.get(i).get("id")).longValue());
+        }
+
+        return userFiles;
+    }
+
+    /**
+     * Loads what is needed to transfer a set of a user's files, in one query. Files that do not
+     * exist, belong to another user or have no stored encryption details are left out.
+     *
+     * @param userId  The ID of the user holding the files
+     * @param fileIds The IDs of the files
+     * @return The transfer sources of the matching files
+     */
+    public List<FileTransferSource> getTransferSources(Integer userId, List<Long> fileIds) {
+        String sql = "SELECT DISTINCT ON (f.id) f.id, f.file_name, f.file_size_bytes, f.content_type, f.s3_key, " +
+                "s.file_iv, s.file_tag, COALESCE(o.owner_user_id, f.user_id) AS owner_user_id " +
+                "FROM user_files f " +
+                "JOIN user_files_secure s ON s.file_id = f.id " +
+                "LEFT JOIN file_owner o ON o.file_id = f.id " +
+                "WHERE f.user_id = ? AND f.id = ANY(?) " +
+                "ORDER BY f.id, s.id DESC";
+
+        return jdbcTemplate.query(sql, ps -> {
+            ps.setInt(1, userId);
+            ps.setArray(2, ps.getConnection().createArrayOf("bigint", fileIds.toArray()));
+        }, (rs, rowNum) -> FileTransferSource.builder()
+                .fileId(rs.getLong("id"))
+                .fileName(rs.getString("file_name"))
+                .fileSizeBytes(rs.getLong("file_size_bytes"))
+                .contentType(rs.getString("content_type"))
+                .s3Key(rs.getString("s3_key"))
+                .fileIv(rs.getString("file_iv"))
+                .fileTag(rs.getString("file_tag"))
+                .ownerUserId(rs.getLong("owner_user_id"))
+                .build());
+    }
+
+    /**
+     * Inserts a file and its owner record with one statement, so neither row can exist without the other.
+     *
+     * @param userFile    The file metadata to insert; its ID is set on return
+     * @param ownerUserId The ID of the user recorded as the file's original owner
+     * @return The saved file metadata
+     */
+    public UserFile saveFileMetadataWithOwner(UserFile userFile, Long ownerUserId) {
+        log.debug("Repository: Saving file metadata with owner {} for user {}: {}",
+                ownerUserId, userFile.getUserId(), userFile.getFileName());
+
+        String sql = "WITH new_file AS (" +
+                "INSERT INTO user_files (user_id, file_name, file_size_bytes, content_type, created_at, s3_key) " +
+                "VALUES (?, ?, ?, ?, ?, ?) RETURNING id), " +
+                "new_owner AS (INSERT INTO file_owner (owner_user_id, file_id) SELECT ?, id FROM new_file) " +
+                "SELECT id FROM new_file";
+
+        Long id = jdbcTemplate.queryForObject(sql, Long.class,
+                userFile.getUserId(),
+                userFile.getFileName(),
+                userFile.getFileSizeBytes(),
+                userFile.getContentType(),
+                Timestamp.valueOf(LocalDateTime.now()),
+                userFile.getS3Key(),
+                ownerUserId);
+
+        userFile.setId(id);
+        log.debug("Repository: File metadata and owner saved successfully with ID: {}", id);
+
+        return userFile;
+    }
+
+    /**
+     * Points a file at its stored content and inserts the matching encryption details with one
+     * statement. Any pending pre-signed upload key is cleared. Nothing is written if the file
+     * no longer exists.
+     *
+     * @param userFile      The file metadata carrying the new S3 key
+     * @param secureDetails The encryption details of the stored content
+     */
+    public void saveFileContentRecord(UserFile userFile, UserFilesSecure secureDetails) {
+        log.debug("Repository: Recording content {} for file ID: {}", userFile.getS3Key(), userFile.getId());
+
+        String sql = "WITH updated_file AS (" +
+                "UPDATE user_files SET s3_key = ?, pending_s3_key = NULL WHERE id = ? RETURNING id, user_id), " +
+                "new_secure AS (" +
+                "INSERT INTO user_files_secure (user_id, file_id, wrapped_key, file_iv, file_tag, key_iv, created_at) " +
+                "SELECT user_id, id, ?, ?, ?, ?, ? FROM updated_file) " +
+                "SELECT COUNT(*) FROM updated_file";
+
+        Integer updatedRows = jdbcTemplate.queryForObject(sql, Integer.class,
+                userFile.getS3Key(),
+                userFile.getId(),
+                secureDetails.getWrappedKey(),
+                secureDetails.getFileIv(),
+                secureDetails.getFileTag(),
+                secureDetails.getKeyIv(),
+                Timestamp.valueOf(LocalDateTime.now()));
+
+        if (updatedRows == null || updatedRows == 0) {
+            log.error("Repository: No rows updated for file ID: {}", userFile.getId());
+            throw new RuntimeException("Failed to update file metadata");
+        }
+    }
+
+    /**
+     * Inserts a transferred copy of a file together with its encryption details and owner record
+     * with one statement, so a transfer is either fully visible to the recipient or not at all.
+     * The copy shares the source file's stored object; the source row is locked while the copy
+     * takes its reference, so a concurrent delete cannot release the object in between.
+     *
+     * @param sourceFileId  The ID of the file being transferred
+     * @param newFile       The recipient's file metadata; its ID and S3 key are set on return
+     * @param secureDetails The encryption details wrapped for the recipient
+     * @param ownerUserId   The ID of the file's original owner
+     * @return The saved file metadata, or null if the source file no longer exists
+     */
+    public UserFile saveTransferredFile(Long sourceFileId, UserFile newFile, UserFilesSecure secureDetails, Long ownerUserId) {
+        log.debug("Repository: Saving transferred file {} for user {}", sourceFileId, newFile.getUserId());
+
+        String sql = "WITH source AS (SELECT s3_key FROM user_files WHERE id = ? FOR SHARE), " +
+                "new_file AS (" +
+                "INSERT INTO user_files (user_id, file_name, file_size_bytes, content_type, created_at, s3_key) " +
+                "SELECT ?, ?, ?, ?, ?, s3_key FROM source RETURNING id, user_id, created_at, s3_key), " +
+                "new_secure AS (" +
+                "INSERT INTO user_files_secure (user_id, file_id, wrapped_key, file_iv, file_tag, key_iv, created_at) " +
+                "SELECT user_id, id, ?, ?, ?, ?, created_at FROM new_file), " +
+                "new_owner AS (INSERT INTO file_owner (owner_user_id, file_id) SELECT ?, id FROM new_file) " +
+                "SELECT id, s3_key FROM new_file";
+
+        List<UserFile> saved = jdbcTemplate.query(sql, (rs, rowNum) -> {
+                    newFile.setId(rs.getLong("id"));
+                    newFile.setS3Key(rs.getString("s3_key"));
+                    return newFile;
+                },
+                sourceFileId,
+                newFile.getUserId(),
+                newFile.getFileName(),
+                newFile.getFileSizeBytes(),
+                newFile.getContentType(),
+                Timestamp.valueOf(LocalDateTime.now()),
+                secureDetails.getWrappedKey(),
+                secureDetails.getFileIv(),
+                secureDetails.getFileTag(),
+                secureDetails.getKeyIv(),
+                ownerUserId);
+
+        if (saved.isEmpty()) {
+            log.debug("Repository: Source file {} no longer exists", sourceFileId);
+            return null;
+        }
+
+        log.debug("Repository: Transferred file saved successfully with ID: {}", newFile.getId());
+        return newFile;
+    }
+
+    /**
+     * Locks the given files against deletion until the current transaction ends. Must run inside
+     * a transaction.
+     *
+     * @param fileIds The IDs of the files to lock
+     * @return The IDs of the files that still exist
+     */
+    public Set<Long> lockFiles(List<Long> fileIds) {
+        String sql = "SELECT id FROM user_files WHERE id = ANY(?) FOR SHARE";
+
+        return new HashSet<>(jdbcTemplate.query(sql,
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("bigint", fileIds.toArray())),
+                (rs, rowNum) -> rs.getLong("id")));
+    }
+
     public UserFile getUserFileById(Long fileId) {
-        log.info("Repository: Fetching file with ID: {}", fileId);
+        log.debug("Repository: Fetching file with ID: {}", fileId);
 
         String sql = "SELECT * FROM user_files WHERE id = ?";
 
@@ -87,7 +307,7 @@ public class UserFileRepository {
     }
 
     public void updateUserFile(UserFile userFile) {
-        log.info("Repository: Updating file metadata for ID: {}", userFile.getId());
+        log.debug("Repository: Updating file metadata for ID: {}", userFile.getId());
 
         String sql = "UPDATE user_files SET s3_key = ? WHERE id = ?";
 
@@ -100,11 +320,25 @@ public class UserFileRepository {
             throw new RuntimeException("Failed to update file metadata");
         }
 
-        log.info("Repository: File metadata updated successfully for ID: {}", userFile.getId());
+        log.debug("Repository: File metadata updated successfully for ID: {}", userFile.getId());
+    }
+
+    /**
+     * Records the key issued for a pre-signed upload, replacing any earlier pending key.
+     * The file keeps pointing at its current content until the upload is completed.
+     */
+    public void updatePendingS3Key(Long fileId, String pendingS3Key) {
+        String sql = "UPDATE user_files SET pending_s3_key = ? WHERE id = ?";
+
+        int updatedRows = jdbcTemplate.update(sql, pendingS3Key, fileId);
+        if (updatedRows == 0) {
+            log.error("Repository: No rows updated for file ID: {}", fileId);
+            throw new RuntimeException("Failed to update file metadata");
+        }
     }
 
     public List<UserFile> getUserFilesByPage(Integer userId, int page, int pageSize) {
-        log.info("Repository: Fetching files for user {} (page: {}, size: {})", userId, page, pageSize);
+        log.debug("Repository: Fetching files for user {} (page: {}, size: {})", userId, page, pageSize);
 
         int offset = page * pageSize;
         String sql = "SELECT * FROM user_files WHERE user_id = ? ORDER BY created_at DESC LIMIT ? OFFSET ?";
@@ -115,29 +349,121 @@ public class UserFileRepository {
                 userFileRowMapper
         );
 
-        log.info("Repository: Found {} files for user {}", files.size(), userId);
+        log.debug("Repository: Found {} files for user {}", files.size(), userId);
         return files;
     }
 
-    public int countUserFiles(Integer userId) {
-        String sql = "SELECT COUNT(*) FROM user_files WHERE user_id = ?";
-        Integer count = jdbcTemplate.queryForObject(sql, Integer.class, userId);
-        return count != null ? count : 0;
+    private static final String LISTING_COLUMNS =
+            "uf.id, uf.user_id, uf.file_name, uf.file_size_bytes, uf.content_type, uf.created_at, " +
+            "fo.owner_user_id, u.name || ' ' || u.surname AS owner_name";
+
+    private static final String LISTING_JOINS =
+            "FROM user_files uf " +
+            "LEFT JOIN file_owner fo ON fo.file_id = uf.id " +
+            "LEFT JOIN users u ON u.id = fo.owner_user_id AND fo.owner_user_id <> uf.user_id ";
+
+    final RowMapper<UserFileListing> userFileListingRowMapper = (rs, rowNum) -> UserFileListing.builder()
+            .id(rs.getLong("id"))
+            .userId(rs.getInt("user_id"))
+            .fileName(rs.getString("file_name"))
+            .fileSizeBytes(rs.getLong("file_size_bytes"))
+            .contentType(rs.getString("content_type"))
+            .createdAt(rs.getObject("created_at", LocalDateTime.class))
+            .ownerUserId(rs.getObject("owner_user_id", Long.class))
+            .ownerName(rs.getString("owner_name"))
+            .build();
+
+    /**
+     * Fetches a page of a user's files joined with their original owner in a single query.
+     * The owner's name is only resolved for files shared by another user.
+     */
+    public List<UserFileListing> getUserFileListingByPage(Integer userId, int page, int pageSize) {
+        log.debug("Repository: Fetching file listing for user {} (page: {}, size: {})", userId, page, pageSize);
+
+        int offset = page * pageSize;
+        String sql = "SELECT " + LISTING_COLUMNS + " " + LISTING_JOINS +
+                "WHERE uf.user_id = ? ORDER BY uf.created_at DESC, uf.id DESC LIMIT ? OFFSET ?";
+
+        List<UserFileListing> files = jdbcTemplate.query(sql, userFileListingRowMapper, userId, pageSize, offset);
+
+        log.debug("Repository: Found {} files for user {}", files.size(), userId);
+        return files;
+    }
+
+    /**
+     * Fetches the user's files that sort after the given (created_at, id) seek key, newest first.
+     * Each page costs the same regardless of how deep into the listing it is. A null seek key
+     * starts from the newest file.
+     */
+    public List<UserFileListing> getUserFileListingAfter(Integer userId,
+                                                         LocalDateTime afterCreatedAt,
+                                                         Long afterId,
+                                                         int limit) {
+        log.debug("Repository: Fetching file listing for user {} after ({}, {}), limit: {}",
+                userId, afterCreatedAt, afterId, limit);
+
+        List<UserFileListing> files;
+        if (afterCreatedAt == null || afterId == null) {
+            String sql = "SELECT " + LISTING_COLUMNS + " " + LISTING_JOINS +
+                    "WHERE uf.user_id = ? ORDER BY uf.created_at DESC, uf.id DESC LIMIT ?";
+            files = jdbcTemplate.query(sql, userFileListingRowMapper, userId, limit);
+        } else {
+            String sql = "SELECT " + LISTING_COLUMNS + " " + LISTING_JOINS +
+                    "WHERE uf.user_id = ? AND (uf.created_at, uf.id) < (?, ?) " +
+                    "ORDER BY uf.created_at DESC, uf.id DESC LIMIT ?";
+            files = jdbcTemplate.query(sql, userFileListingRowMapper,
+                    userId, Timestamp.valueOf(afterCreatedAt), afterId, limit);
+        }
+
+        log.debug("Repository: Found {} files for user {}", files.size(), userId);
+        return files;
     }
 
+    /**
+     * Deletes a file and releases its size and count from its user's storage usage with one statement.
+     *
+     * @param fileId The ID of the file to delete
+     */
     public void deleteFile(Long fileId) {
-        log.info("Repository: Deleting file with ID: {}", fileId);
+        log.debug("Repository: Deleting file with ID: {}", fileId);
 
-        String sql = "DELETE FROM user_files WHERE id = ?";
+        String sql = "WITH deleted AS (DELETE FROM user_files WHERE id = ? RETURNING user_id, file_size_bytes), " +
+                "released AS (UPDATE users u SET " +
+                "used_space_bytes = GREATEST(u.used_space_bytes - d.file_size_bytes, 0), " +
+                "file_count = GREATEST(u.file_count - 1, 0) " +
+                "FROM deleted d WHERE u.id = d.user_id) " +
+                "SELECT COUNT(*) FROM deleted";
 
-        int rowsAffected = jdbcTemplate.update(sql, fileId);
+        Integer rowsAffected = jdbcTemplate.queryForObject(sql, Integer.class, fileId);
 
-        if (rowsAffected == 0) {
+        if (rowsAffected == null || rowsAffected == 0) {
             log.error("Repository: No file found to delete with ID: {}", fileId);
             throw new RuntimeException("File not found for deletion");
         }
 
-        log.info("Repository: Successfully deleted file with ID: {}", fileId);
+        log.debug("Repository: Successfully deleted file with ID: {}", fileId);
+    }
+
+    /**
+     * Deletes a set of a user's files and releases them from the user's storage usage with one statement.
+     *
+     * @return The number of deleted files
+     */
+    public int deleteFilesByIds(Integer userId, List<Long> fileIds) {
+        String sql = "WITH deleted AS (DELETE FROM user_files WHERE user_id = ? AND id = ANY(?) RETURNING file_size_bytes), " +
+                "released AS (UPDATE users SET " +
+                "used_space_bytes = GREATEST(used_space_bytes - (SELECT COALESCE(SUM(file_size_bytes), 0) FROM deleted), 0), " +
+                "file_count = GREATEST(file_count - (SELECT COUNT(*) FROM deleted), 0) " +
+                "WHERE id = ?) " +
+                "SELECT COUNT(*) FROM deleted";
+
+        Integer rowsAffected = jdbcTemplate.query(sql, ps -> {
+            ps.setInt(1, userId);
+            ps.setArray(2, ps.getConnection().createArrayOf("bigint", fileIds.toArray()));
+            ps.setInt(3, userId);
+        }, rs -> rs.next() ? rs.getInt(1) : 0);
+        log.debug("Repository: Deleted {} of {} files for user {}", rowsAffected, fileIds.size(), userId);
+        return rowsAffected != null ? rowsAffected : 0;
     }
 
     public List<UserFile> getAllUserFiles(Integer userId) {
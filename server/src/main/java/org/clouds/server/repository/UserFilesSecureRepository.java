@@ -1,5 +1,6 @@
 package org.clouds.server.repository;
 
+import io.micrometer.core.annotation.Timed;
 import org.clouds.server.model.UserFilesSecure;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -16,8 +17,10 @@ import java.sql.SQLException;
 import java.sql.Statement;
 import java.sql.Timestamp;
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Repository
+@Timed("clouds.db.repository")
 public class UserFilesSecureRepository {
     private static final Logger logger = LoggerFactory.getLogger(UserFilesSecureRepository.class);
     
@@ -58,6 +61,28 @@ public class UserFilesSecureRepository {
         return secureDetails;
     }
 
+    /**
+     * Inserts the secure details of many files with one JDBC batch.
+     *
+     * @param secureDetails The secure details to insert
+     */
+    public void saveSecureDetails(List<UserFilesSecure> secureDetails) {
+        String sql = "INSERT INTO user_files_secure (user_id, file_id, wrapped_key, file_iv, file_tag, key_iv, created_at) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?)";
+        Timestamp createdAt = Timestamp.valueOf(LocalDateTime.now());
+
+        jdbcTemplate.batchUpdate(sql, secureDetails, secureDetails.size(), (ps, details) -> {
+            ps.setLong(1, details.getUserId());
+            ps.setLong(2, details.getFileId());
+            ps.setString(3, details.getWrappedKey());
+            ps.setString(4, details.getFileIv());
+            ps.setString(5, details.getFileTag());
+            ps.setString(6, details.getKeyIv());
+            ps.setTimestamp(7, createdAt);
+        });
+        logger.debug("Repository: Saved secure details of {} files", secureDetails.size());
+    }
+
     public UserFilesSecure getSecureDetailsByFileId(Long fileId) {
         logger.info("Repository: Fetching secure details for fileId: {}", fileId);
         
@@ -80,6 +105,15 @@ public class UserFilesSecureRepository {
         
         logger.info("Repository: Deleted {} rows from user_files_secure for fileId: {}", rowsAffected, fileId);
     }
+
+    public int deleteByFileIds(List<Long> fileIds) {
+        String sql = "DELETE FROM user_files_secure WHERE file_id = ANY(?)";
+
+        int rowsAffected = jdbcTemplate.update(sql,
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("bigint", fileIds.toArray())));
+        logger.debug("Repository: Deleted {} rows from user_files_secure for {} files", rowsAffected, fileIds.size());
+        return rowsAffected;
+    }
     
     private static final class UserFilesSecureRowMapper implements RowMapper<UserFilesSecure> {
         @Override
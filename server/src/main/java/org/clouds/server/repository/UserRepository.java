@@ -6,9 +6,15 @@ import org.clouds.server.model.UserSecurity;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -17,6 +23,23 @@ public interface UserRepository extends CrudRepository<User, Long> {
 
     Optional<User> findByEmail(String email);
     Optional<User> findByUsername(String username);
+    List<User> findByEmailIn(Collection<String> emails);
+
+    /**
+     * Adds files to a user's storage usage and file count in one conditional update, so
+     * concurrent writers cannot together take the user over the quota.
+     *
+     * @return 1 if the files were charged, 0 if they do not fit within the user's quota
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE users SET used_space_bytes = used_space_bytes + :bytes, file_count = file_count + :files " +
+            "WHERE id = :userId AND used_space_bytes + :bytes <= limit_space_bytes",
+            nativeQuery = true)
+    int chargeStorage(@Param("userId") Long userId, @Param("bytes") long bytes, @Param("files") int files);
+
+    @Query(value = "SELECT file_count FROM users WHERE id = :userId", nativeQuery = true)
+    Integer findFileCountById(@Param("userId") Long userId);
 
     default Integer findUserIdByEmail(String email) {
         Optional<User> user = findByEmail(email);
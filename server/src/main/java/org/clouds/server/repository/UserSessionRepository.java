@@ -15,6 +15,7 @@ public interface UserSessionRepository extends JpaRepository<UserSession, Long>
 
     Optional<UserSession> findBySessionId(String sessionId);
 
+    @Transactional(readOnly = true)
     @Query("SELECT s FROM UserSession s WHERE s.sessionId = :sessionId AND s.expiresAt > :now")
     Optional<UserSession> findActiveSessionBySessionId(@Param("sessionId") String sessionId, @Param("now") LocalDateTime now);
 
@@ -25,4 +26,11 @@ public interface UserSessionRepository extends JpaRepository<UserSession, Long>
     @Transactional
     @Query("DELETE FROM UserSession s WHERE s.user.id = :userId")
     void deleteAllByUserId(@Param("userId") Long userId);
-} 
\ No newline at end of file
+
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM user_sessions WHERE id IN (" +
+            "SELECT id FROM user_sessions WHERE expires_at <= :now LIMIT :batchSize FOR UPDATE SKIP LOCKED)",
+            nativeQuery = true)
+    int deleteExpiredSessions(@Param("now") LocalDateTime now, @Param("batchSize") int batchSize);
+}
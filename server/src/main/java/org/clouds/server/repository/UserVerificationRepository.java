@@ -1,13 +1,30 @@
 package org.clouds.server.repository;
 
 import org.clouds.server.model.UserVerification;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.util.Optional;
 
 @Repository
 public interface UserVerificationRepository extends CrudRepository<UserVerification, Long> {
 
     Optional<UserVerification> findByVerificationCode(String verificationCode);
-} 
\ No newline at end of file
+
+    /**
+     * Clears expired verification codes of unverified users. The row and its expiry stay, so
+     * verification keeps failing as expired and a new code can still be sent.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE user_verification SET verification_code = NULL WHERE user_id IN (" +
+            "SELECT user_id FROM user_verification WHERE verification_code IS NOT NULL " +
+            "AND verification_code_expires_at <= :now LIMIT :batchSize FOR UPDATE SKIP LOCKED)",
+            nativeQuery = true)
+    int clearExpiredVerificationCodes(@Param("now") Instant now, @Param("batchSize") int batchSize);
+}
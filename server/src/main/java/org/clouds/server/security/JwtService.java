@@ -10,7 +10,6 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
-import java.security.Key;
 import java.time.Instant;
 import java.util.Date;
 import java.util.HashMap;
@@ -20,6 +19,8 @@ import java.util.function.Function;
 /**
  * Service class for handling JWT (JSON Web Token) operations including token generation,
  * validation, and claim extraction.
+ * The signing key and the parser are built once at construction and shared, since both are
+ * immutable and thread-safe.
  *
  * @author Bohdan
  * @version 1.0
@@ -27,11 +28,24 @@ import java.util.function.Function;
 @Service
 @Slf4j
 public class JwtService {
-    @Value("${security.jwt.secret-key}")
-    private String secretKey;
+    private final long jwtExpiration;
+    private final SecretKey signInKey;
+    private final JwtParser jwtParser;
+
+    public JwtService(@Value("${security.jwt.secret-key}") String secretKey,
+                      @Value("${security.jwt.expiration-time}") long jwtExpiration) {
+        this.jwtExpiration = jwtExpiration;
+
+        if (secretKey == null || secretKey.isBlank()) {
+            log.warn("security.jwt.secret-key is not set; bearer tokens cannot be issued or verified");
+            this.signInKey = null;
+            this.jwtParser = null;
+            return;
+        }
 
-    @Value("${security.jwt.expiration-time}")
-    private long jwtExpiration;
+        this.signInKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey));
+        this.jwtParser = Jwts.parser().verifyWith(signInKey).build();
+    }
 
     /**
      * Extracts the username from a JWT token.
@@ -102,19 +116,17 @@ public class JwtService {
                 ? ((User) userDetails).getEmail()
                 : userDetails.getUsername();
 
-        log.info("Setting JWT subject to: {}", subject);
+        log.debug("Setting JWT subject to: {}", subject);
 
         Instant now = Instant.now();
         Instant expiration = now.plusMillis(expirationMillis);
 
-        Key key = getSignInKey();
-
         JwtBuilder builder = Jwts.builder()
                 .claims(extraClaims)
                 .subject(subject)
                 .issuedAt(Date.from(now))
                 .expiration(Date.from(expiration))
-                .signWith(key);
+                .signWith(signInKey);
 
         return builder.compact();
     }
@@ -127,59 +139,51 @@ public class JwtService {
      * @return true if a token is valid, false otherwise
      */
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String subject = extractUsername(token);
+        return isTokenValid(extractAllClaims(token), userDetails);
+    }
+
+    /**
+     * Validates already parsed token claims for the given user details, so a caller that
+     * has parsed the token once does not parse it again.
+     *
+     * @param claims      The verified claims of the JWT token
+     * @param userDetails The user details to validate against
+     * @return true if a token is valid, false otherwise
+     */
+    public boolean isTokenValid(Claims claims, UserDetails userDetails) {
+        final String subject = claims.getSubject();
 
         boolean valid;
         if (userDetails instanceof User) {
-            valid = subject.equals(((User) userDetails).getEmail()) && isTokenExpired(token);
+            valid = subject.equals(((User) userDetails).getEmail()) && isTokenNotExpired(claims);
         } else {
-            valid = subject.equals(userDetails.getUsername()) && isTokenExpired(token);
+            valid = subject.equals(userDetails.getUsername()) && isTokenNotExpired(claims);
         }
 
         return valid;
     }
 
     /**
-     * Checks if a token has expired.
-     *
-     * @param token The JWT token to check
-     * @return true if a token is not expired, false if expired
-     */
-    private boolean isTokenExpired(String token) {
-        return !extractExpiration(token).before(new Date());
-    }
-
-    /**
-     * Extracts the expiration date from a JWT token.
-     *
-     * @param token The JWT token
-     * @return Token expiration date
-     */
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
-    }
-
-    /**
-     * Extracts all claims from a JWT token.
+     * Parses and verifies a JWT token once, returning all of its claims.
      *
      * @param token The JWT token to extract claims from
      * @return All token claims
      */
-    private Claims extractAllClaims(String token) {
-        JwtParserBuilder parserBuilder = Jwts.parser().verifyWith(getSignInKey());
+    public Claims extractAllClaims(String token) {
+        if (jwtParser == null) {
+            throw new JwtException("JWT signing key is not configured");
+        }
 
-        return parserBuilder.build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return jwtParser.parseSignedClaims(token).getPayload();
     }
 
     /**
-     * Gets the signing key used for JWT operations.
+     * Checks that token claims have not expired.
      *
-     * @return SecretKey for signing/verifying tokens
+     * @param claims The claims of the JWT token
+     * @return true if a token is not expired, false if expired
      */
-    private SecretKey getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
+    private boolean isTokenNotExpired(Claims claims) {
+        return !claims.getExpiration().before(new Date());
     }
 }
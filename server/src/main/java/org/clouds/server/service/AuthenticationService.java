@@ -1,5 +1,7 @@
 package org.clouds.server.service;
 
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.mail.MessagingException;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.AllArgsConstructor;
@@ -8,11 +10,11 @@ import org.clouds.server.dto.responses.LoginSaltsAndPrivateKeyResponseDto;
 import org.clouds.server.exception.InvalidRegistrationDataException;
 import org.clouds.server.exception.UnauthorizedException;
 import org.clouds.server.exception.UserAlreadyExistsException;
+import org.clouds.server.logging.RequestSummaryFilter;
 import org.clouds.server.model.Role;
 import org.clouds.server.model.User;
 import org.clouds.server.model.UserSecurity;
 import org.clouds.server.model.UserVerification;
-import org.clouds.server.model.LoginAttempt;
 import org.clouds.server.model.UserSession;
 import org.clouds.server.dto.request.LoginUserFirstAttemptRequestDto;
 import org.clouds.server.dto.responses.LoginInitResponseDto;
@@ -20,8 +22,8 @@ import org.clouds.server.dto.request.RegistrationRequestDto;
 import org.clouds.server.repository.UserRepository;
 import org.clouds.server.repository.UserSecurityRepository;
 import org.clouds.server.repository.UserVerificationRepository;
-import org.clouds.server.repository.LoginAttemptRepository;
 import org.clouds.server.repository.UserSessionRepository;
+import org.slf4j.MDC;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -30,7 +32,6 @@ import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.Base64;
 import java.util.Optional;
-import java.util.List;
 
 @Service
 @AllArgsConstructor
@@ -39,16 +40,17 @@ public class AuthenticationService {
     private final UserRepository userRepository;
     private final UserSecurityRepository userSecurityRepository;
     private final UserVerificationRepository userVerificationRepository;
-    private final LoginAttemptRepository loginAttemptRepository;
+    private final LoginAttemptLimiter loginAttemptLimiter;
     private final UserSessionRepository userSessionRepository;
     private final EmailService emailService;
     private final SecureRandom secureRandom = new SecureRandom();
     private final SessionCookieService sessionCookieService;
+    private final SessionCache sessionCache;
+    private final SessionTokenService sessionTokenService;
+    private final MeterRegistry meterRegistry;
     
-    private static final int MAX_LOGIN_ATTEMPTS = 15;
-    private static final long BLOCK_DURATION_SECONDS = 1800; // 30 minutes
-    private static final long ATTEMPT_WINDOW_SECONDS = 3600; // 1 hour
     private static final long SESSION_DURATION_SECONDS = 86400; // 24 hours
+    private static final String LOGIN_ATTEMPTS_METRIC = "clouds.auth.login.attempts";
 
     @Transactional
     public void signup(RegistrationRequestDto input) throws UserAlreadyExistsException, InvalidRegistrationDataException {
@@ -127,6 +129,7 @@ public class AuthenticationService {
                     .role(Role.user)
                     .isVerified(false)
                     .usedSpaceBytes(0L)
+                    .fileCount(0)
                     .limitSpaceBytes(100L * 1024 * 1024) // 100MB
                     .build();
         } catch (Exception e) {
@@ -382,49 +385,20 @@ public class AuthenticationService {
      * @param failed Whether the attempt failed (email not found)
      */
     private void recordLoginAttempt(String email, String ipAddress, boolean failed) {
-        Instant now = Instant.now();
-        
         if (failed) {
-            LoginAttempt attempt = LoginAttempt.builder()
-                    .email(email)
-                    .ipAddress(ipAddress)
-                    .attemptTime(now)
-                    .blocked(false)
-                    .build();
-            
-            loginAttemptRepository.save(attempt);
-            
-            Instant windowStart = now.minusSeconds(ATTEMPT_WINDOW_SECONDS);
-            
-            List<LoginAttempt> ipAttempts = loginAttemptRepository.findRecentAttemptsByIpAddress(ipAddress, windowStart);
-            if (ipAttempts.size() >= MAX_LOGIN_ATTEMPTS) {
-                LoginAttempt blockAttempt = LoginAttempt.builder()
-                        .email(email)
-                        .ipAddress(ipAddress)
-                        .attemptTime(now)
-                        .blocked(true)
-                        .blockExpiresAt(now.plusSeconds(BLOCK_DURATION_SECONDS))
-                        .build();
-                
-                loginAttemptRepository.save(blockAttempt);
-            }
-            
-            if (email != null && !email.isEmpty()) {
-                List<LoginAttempt> emailAttempts = loginAttemptRepository.findRecentAttemptsByEmail(email, windowStart);
-                if (emailAttempts.size() >= MAX_LOGIN_ATTEMPTS) {
-                    LoginAttempt blockAttempt = LoginAttempt.builder()
-                            .email(email)
-                            .ipAddress(ipAddress)
-                            .attemptTime(now)
-                            .blocked(true)
-                            .blockExpiresAt(now.plusSeconds(BLOCK_DURATION_SECONDS))
-                            .build();
-                    
-                    loginAttemptRepository.save(blockAttempt);
-                }
-            }
+            countLoginAttempt("failed");
+            loginAttemptLimiter.recordFailure(email, ipAddress);
         }
     }
+
+    /**
+     * Counts a login attempt by its result.
+     *
+     * @param result The result of the attempt: succeeded, failed or blocked
+     */
+    private void countLoginAttempt(String result) {
+        meterRegistry.counter(LOGIN_ATTEMPTS_METRIC, "result", result).increment();
+    }
     
     /**
      * Checks if an IP or email is currently blocked
@@ -434,18 +408,11 @@ public class AuthenticationService {
      * @return true if blocked, false otherwise
      */
     private boolean isBlocked(String email, String ipAddress) {
-        Instant now = Instant.now();
-        
-        List<LoginAttempt> ipBlocks = loginAttemptRepository.findActiveBlocksByIpAddress(ipAddress, now);
-        if (!ipBlocks.isEmpty()) {
+        if (loginAttemptLimiter.isBlocked(email, ipAddress)) {
+            countLoginAttempt("blocked");
             return true;
         }
         
-        if (email != null && !email.isEmpty()) {
-            List<LoginAttempt> emailBlocks = loginAttemptRepository.findActiveBlocksByEmail(email, now);
-            return !emailBlocks.isEmpty();
-        }
-        
         return false;
     }
 
@@ -504,16 +471,22 @@ public class AuthenticationService {
                     .build();
         }
         
-        String sessionId = generateSecureToken();
-        
-        UserSession session = new UserSession();
-        session.setUser(user);
-        session.setSessionId(sessionId);
-        session.setCreatedAt(LocalDateTime.now());
-        session.setExpiresAt(LocalDateTime.now().plusSeconds(SESSION_DURATION_SECONDS));
-        session.setIpAddress(ipAddress);
-        
-        userSessionRepository.save(session);
+        String sessionId;
+        if (sessionTokenService.isEnabled()) {
+            sessionId = sessionTokenService.issueToken(Math.toIntExact(user.getId()));
+        } else {
+            sessionId = generateSecureToken();
+
+            UserSession session = new UserSession();
+            session.setUser(user);
+            session.setSessionId(sessionId);
+            session.setCreatedAt(LocalDateTime.now());
+            session.setExpiresAt(LocalDateTime.now().plusSeconds(SESSION_DURATION_SECONDS));
+            session.setIpAddress(ipAddress);
+
+            userSessionRepository.save(session);
+        }
+        countLoginAttempt("succeeded");
         
         return LoginSaltsAndPrivateKeyResponseDto.builder()
                 .success(true)
@@ -534,29 +507,36 @@ public class AuthenticationService {
      * @param sessionId The session ID to verify
      * @return true if session is valid and not expired, false otherwise
      */
-    @Transactional
     public boolean verifySession(Optional<String> sessionId) {
         if (sessionId.isEmpty()) {
             return false;
         }
         
-        LocalDateTime now = LocalDateTime.now();
-        Optional<UserSession> sessionOpt = userSessionRepository.findActiveSessionBySessionId(String.valueOf(sessionId), now);
-        
-        return sessionOpt.isPresent();
+        return getUserIdFromSession(sessionId.get()) != null;
     }
     
     /**
-     * Gets the user ID associated with a session ID
+     * Gets the user ID associated with a session ID.
+     * In token mode the signed session token is verified without any I/O. Otherwise active
+     * sessions are served from the in-process session cache; only a cache miss reaches the database,
+     * and only that lookup runs in a (read-only) transaction.
      * 
      * @param sessionId The session ID
      * @return The user ID if session is valid, null otherwise
      */
-    @Transactional
     public Integer getUserIdFromSession(String sessionId) {
         if (sessionId == null || sessionId.trim().isEmpty()) {
             return null;
         }
+
+        if (sessionTokenService.isEnabled()) {
+            return sessionTokenService.verifyToken(sessionId);
+        }
+
+        Integer cachedUserId = sessionCache.getUserId(sessionId);
+        if (cachedUserId != null) {
+            return cachedUserId;
+        }
         
         LocalDateTime now = LocalDateTime.now();
         Optional<UserSession> sessionOpt = userSessionRepository.findActiveSessionBySessionId(sessionId, now);
@@ -566,7 +546,9 @@ public class AuthenticationService {
         }
         
         UserSession session = sessionOpt.get();
-        return Math.toIntExact(session.getUser().getId());
+        Integer userId = Math.toIntExact(session.getUser().getId());
+        sessionCache.put(sessionId, userId, session.getExpiresAt());
+        return userId;
     }
     
     /**
@@ -576,6 +558,13 @@ public class AuthenticationService {
      */
     @Transactional
     public void invalidateSession(String sessionId) {
+        if (sessionTokenService.isEnabled()) {
+            sessionTokenService.revokeToken(sessionId);
+            return;
+        }
+
+        sessionCache.invalidate(sessionId);
+
         Optional<UserSession> sessionOptional = userSessionRepository.findBySessionId(sessionId);
         
         if (sessionOptional.isPresent()) {
@@ -707,6 +696,8 @@ public class AuthenticationService {
         security.setEncryptedMasterKeyIv(newEncryptedMasterKeyIv);
         
         userSecurityRepository.save(security);
+        sessionCache.invalidateUser(sessionUserId);
+        sessionTokenService.revokeUser(sessionUserId);
         
         return true;
     }
@@ -718,6 +709,7 @@ public class AuthenticationService {
      * @return The authenticated user ID
      * @throws UnauthorizedException if authentication fails
      */
+    @Timed("clouds.auth.session.lookup")
     public Integer authenticateUser(HttpServletRequest request) {
         Optional<String> sessionId = sessionCookieService.extractSessionId(request);
 
@@ -733,6 +725,7 @@ public class AuthenticationService {
             throw new UnauthorizedException("Invalid or expired session");
         }
 
+        MDC.put(RequestSummaryFilter.USER_ID_KEY, userId.toString());
         log.debug("User authenticated successfully: userId={}", userId);
         return userId;
     }
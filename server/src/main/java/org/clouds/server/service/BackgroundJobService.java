@@ -0,0 +1,254 @@
+package org.clouds.server.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.clouds.server.dto.responses.BackgroundJobResponseDto;
+import org.clouds.server.dto.responses.BulkDeleteResponseDto;
+import org.clouds.server.exception.JobNotFoundException;
+import org.clouds.server.model.BackgroundJob;
+import org.clouds.server.model.BackgroundJobStatus;
+import org.clouds.server.model.BackgroundJobType;
+import org.clouds.server.repository.BackgroundJobRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Persistent queue for long-running user work such as deleting all files or a whole account.
+ * Requests enqueue a row in {@code background_jobs} and return immediately; a poller claims due
+ * jobs and runs them on the background job executor.
+ * <p>
+ * A claimed job holds a lease, which its worker renews every {@code app.jobs.heartbeat-interval}
+ * while the job runs. If the node running it dies, the lease expires and the job is claimed again
+ * by any node, so work survives restarts. Each claim carries a lock token, and the outcome is
+ * only recorded by the worker still holding it. Handlers are idempotent, which makes a repeated
+ * run harmless. Failed jobs are retried with exponential backoff up to
+ * {@code app.jobs.max-attempts}.
+ *
+ * @author Bohdan
+ * @version 1.0
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j(topic = "background.jobs")
+public class BackgroundJobService {
+
+    private static final int MAX_BACKOFF_EXPONENT = 10;
+
+    private final BackgroundJobRepository backgroundJobRepository;
+    private final FileService fileService;
+    private final UserService userService;
+    private final Executor backgroundJobExecutor;
+
+    @Value("${app.jobs.workers:4}")
+    private int workers;
+
+    @Value("${app.jobs.lease:15m}")
+    private Duration lease;
+
+    @Value("${app.jobs.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${app.jobs.retry-backoff:30s}")
+    private Duration retryBackoff;
+
+    private Semaphore workerSlots;
+
+    private final Map<String, String> runningJobs = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        workerSlots = new Semaphore(workers);
+        log.info("Background jobs enabled with {} workers and a lease of {}", workers, lease);
+    }
+
+    /**
+     * Queues a job for a user. If an equal job is already queued or running, that job is returned instead.
+     *
+     * @param jobType The kind of work to run
+     * @param userId The ID of the user the job works on
+     * @return The queued or already active job
+     */
+    public BackgroundJobResponseDto enqueue(BackgroundJobType jobType, Integer userId) {
+        while (true) {
+            BackgroundJob activeJob = backgroundJobRepository.getActiveJob(userId, jobType);
+            if (activeJob != null) {
+                log.debug("Service: {} job {} already active for user {}", jobType, activeJob.getId(), userId);
+                return toResponse(activeJob);
+            }
+
+            LocalDateTime now = LocalDateTime.now();
+            BackgroundJob job = BackgroundJob.builder()
+                    .id(UUID.randomUUID().toString())
+                    .jobType(jobType)
+                    .userId(userId)
+                    .status(BackgroundJobStatus.QUEUED)
+                    .attempts(0)
+                    .createdAt(now)
+                    .updatedAt(now)
+                    .availableAt(now)
+                    .build();
+
+            if (backgroundJobRepository.saveJobIfNoneActive(job)) {
+                log.info("Service: Queued {} job {} for user {}", jobType, job.getId(), userId);
+                return toResponse(job);
+            }
+
+            // A concurrent request queued the same job first; return that one
+        }
+    }
+
+    /**
+     * Gets the current state of a user's job.
+     *
+     * @param jobId The ID of the job
+     * @param userId The ID of the requesting user
+     * @return The job state
+     * @throws JobNotFoundException if no job with the given ID belongs to the user
+     */
+    public BackgroundJobResponseDto getJob(String jobId, Integer userId) {
+        BackgroundJob job = backgroundJobRepository.getJobById(jobId);
+        if (job == null || !job.getUserId().equals(userId)) {
+            throw JobNotFoundException.byId(jobId);
+        }
+
+        return toResponse(job);
+    }
+
+    /**
+     * Claims as many due jobs as there are idle workers and hands them to the executor.
+     * Jobs whose worker died during their last attempt are marked as failed instead of claimed.
+     */
+    @Scheduled(fixedDelayString = "${app.jobs.poll-interval:2s}")
+    public void pollJobs() {
+        int idleWorkers = workerSlots.availablePermits();
+        if (idleWorkers == 0) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        int abandoned = backgroundJobRepository.failAbandonedJobs(now, maxAttempts);
+        if (abandoned > 0) {
+            log.error("Service: Failed {} jobs whose worker stopped during their last attempt", abandoned);
+        }
+
+        List<BackgroundJob> jobs = backgroundJobRepository.claimJobs(idleWorkers, now, now.plus(lease),
+                UUID.randomUUID().toString(), maxAttempts);
+
+        for (BackgroundJob job : jobs) {
+            workerSlots.acquireUninterruptibly();
+            try {
+                backgroundJobExecutor.execute(() -> {
+                    try {
+                        runJob(job);
+                    } finally {
+                        workerSlots.release();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                workerSlots.release();
+                backgroundJobRepository.retryJob(job.getId(), job.getLockToken(), "Worker pool rejected the job", now);
+            }
+        }
+    }
+
+    /**
+     * Extends the lease of every job running on this node, so long jobs are not claimed again
+     * by another node while they are still making progress.
+     */
+    @Scheduled(fixedDelayString = "${app.jobs.heartbeat-interval:5m}")
+    public void renewLeases() {
+        LocalDateTime lockedUntil = LocalDateTime.now().plus(lease);
+
+        runningJobs.forEach((jobId, lockToken) -> {
+            if (!backgroundJobRepository.extendLease(jobId, lockToken, lockedUntil)) {
+                log.warn("Service: Lost the lease of job {}, it is no longer owned by this worker", jobId);
+                runningJobs.remove(jobId, lockToken);
+            }
+        });
+    }
+
+    private void runJob(BackgroundJob job) {
+        log.info("Service: Running {} job {} for user {} (attempt {})",
+                job.getJobType(), job.getId(), job.getUserId(), job.getAttempts());
+
+        runningJobs.put(job.getId(), job.getLockToken());
+        try {
+            String message = switch (job.getJobType()) {
+                case DELETE_USER_FILES -> deleteUserFiles(job.getUserId());
+                case DELETE_USER_ACCOUNT -> deleteUserAccount(job.getUserId());
+            };
+
+            if (backgroundJobRepository.completeJob(job.getId(), job.getLockToken(), message)) {
+                log.info("Service: Job {} succeeded: {}", job.getId(), message);
+            } else {
+                log.warn("Service: Job {} finished after its lease was lost, outcome not recorded: {}", job.getId(), message);
+            }
+        } catch (Exception e) {
+            handleFailure(job, e);
+        } finally {
+            runningJobs.remove(job.getId(), job.getLockToken());
+        }
+    }
+
+    private String deleteUserFiles(Integer userId) {
+        BulkDeleteResponseDto result = fileService.deleteAllUserFiles(userId);
+        if (!result.getFailedFileIds().isEmpty()) {
+            throw new IllegalStateException(result.getFailedFileIds().size() + " files could not be deleted");
+        }
+
+        return "Deleted " + result.getDeletedFiles() + " files";
+    }
+
+    private String deleteUserAccount(Integer userId) {
+        if (userService.getUserById(userId.longValue()).isEmpty()) {
+            return "Account already deleted";
+        }
+
+        deleteUserFiles(userId);
+        userService.deleteUserAccount(userId);
+        return "Account deleted";
+    }
+
+    private void handleFailure(BackgroundJob job, Exception e) {
+        String message = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+
+        if (job.getAttempts() >= maxAttempts) {
+            log.error("Service: Job {} failed after {} attempts: {}", job.getId(), job.getAttempts(), message, e);
+            if (!backgroundJobRepository.failJob(job.getId(), job.getLockToken(), message)) {
+                log.warn("Service: Job {} failed after its lease was lost, outcome not recorded", job.getId());
+            }
+            return;
+        }
+
+        int exponent = Math.min(job.getAttempts() - 1, MAX_BACKOFF_EXPONENT);
+        LocalDateTime availableAt = LocalDateTime.now().plus(retryBackoff.multipliedBy(1L << exponent));
+        log.warn("Service: Job {} attempt {} failed, retrying at {}: {}", job.getId(), job.getAttempts(), availableAt, message);
+        if (!backgroundJobRepository.retryJob(job.getId(), job.getLockToken(), message, availableAt)) {
+            log.warn("Service: Job {} failed after its lease was lost, retry not scheduled", job.getId());
+        }
+    }
+
+    private BackgroundJobResponseDto toResponse(BackgroundJob job) {
+        return BackgroundJobResponseDto.builder()
+                .jobId(job.getId())
+                .jobType(job.getJobType())
+                .status(job.getStatus())
+                .attempts(job.getAttempts())
+                .message(job.getMessage())
+                .createdAt(job.getCreatedAt())
+                .updatedAt(job.getUpdatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,89 @@
+package org.clouds.server.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.clouds.server.repository.BlobRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Deletes S3 objects that no file refers to any more.
+ * Deleting or re-uploading a file only drops its reference to the stored object; once an
+ * object has been unreferenced for {@code app.blobs.release-grace}, which lets downloads that
+ * were already streaming it finish, this reaper deletes it from S3 and forgets the blob.
+ * Keys issued for pre-signed uploads are registered as unreferenced until the upload is
+ * completed, so objects uploaded but never confirmed are deleted the same way.
+ * Objects whose S3 delete fails stay unreferenced and are retried on the next run.
+ *
+ * @author Bohdan
+ * @version 1.0
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j(topic = "blob.reaper")
+public class BlobReaper {
+
+    private static final String REAPED_BLOBS_METRIC = "clouds.blobs.reaped";
+
+    private final BlobRepository blobRepository;
+    private final S3Service s3Service;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.blobs.release-grace:5m}")
+    private Duration releaseGrace;
+
+    @Value("${app.blobs.batch-size:1000}")
+    private int batchSize;
+
+    /**
+     * Deletes released objects in batches until none past the grace period remain.
+     */
+    @Scheduled(fixedDelayString = "${app.blobs.reap-interval:1m}")
+    public void reap() {
+        int reaped;
+        do {
+            Integer batch = transactionTemplate.execute(status -> reapBatch());
+            reaped = batch != null ? batch : 0;
+        } while (reaped == batchSize);
+    }
+
+    /**
+     * @return The number of blobs locked for this batch
+     */
+    private int reapBatch() {
+        List<String> keys = blobRepository.lockUnreferencedKeys(LocalDateTime.now().minus(releaseGrace), batchSize);
+        if (keys.isEmpty()) {
+            return 0;
+        }
+
+        Set<String> failedKeys = new HashSet<>(s3Service.deleteFiles(keys));
+        List<String> deletedKeys = new ArrayList<>(keys.size());
+        for (String key : keys) {
+            if (!failedKeys.contains(key)) {
+                deletedKeys.add(key);
+            }
+        }
+
+        if (!deletedKeys.isEmpty()) {
+            blobRepository.deleteUnreferenced(deletedKeys);
+            meterRegistry.counter(REAPED_BLOBS_METRIC).increment(deletedKeys.size());
+        }
+        if (!failedKeys.isEmpty()) {
+            log.warn("Failed to delete {} unreferenced objects from S3, will retry", failedKeys.size());
+        }
+
+        log.debug("Reaped {} unreferenced blobs", deletedKeys.size());
+        return failedKeys.isEmpty() ? keys.size() : 0;
+    }
+}
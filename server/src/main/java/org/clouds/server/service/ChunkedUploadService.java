@@ -0,0 +1,314 @@
+package org.clouds.server.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.clouds.server.dto.request.FileUploadRequestDto;
+import org.clouds.server.dto.request.UploadSessionCommitRequestDto;
+import org.clouds.server.dto.request.UploadSessionRequestDto;
+import org.clouds.server.dto.responses.FileUploadResponseDto;
+import org.clouds.server.dto.responses.UploadSessionResponseDto;
+import org.clouds.server.exception.FileAccessException;
+import org.clouds.server.exception.FileNotFoundException;
+import org.clouds.server.exception.FileOperationException;
+import org.clouds.server.exception.StorageQuotaExceededException;
+import org.clouds.server.exception.ValidationException;
+import org.clouds.server.model.UploadSession;
+import org.clouds.server.model.UserFile;
+import org.clouds.server.repository.UploadSessionRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.Part;
+
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Service for resumable chunked uploads.
+ * An upload session wraps the file metadata row created by {@link FileService} and an
+ * S3 multipart upload; chunks map one-to-one to multipart parts, so a client that loses
+ * its connection only has to re-send the chunks S3 has not yet stored. Sessions expire after
+ * {@code app.upload-sessions.ttl}; abandoned ones are aborted by the retention sweep.
+ *
+ * @author Bohdan
+ * @version 1.0
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j(topic = "file.upload")
+public class ChunkedUploadService {
+    private static final int MAX_CHUNKS = 10_000;
+    // S3 rejects completing a multipart upload whose parts, other than the last, are under 5 MiB
+    private static final long MIN_CHUNK_SIZE_BYTES = 5L * 1024 * 1024;
+
+    private final FileService fileService;
+    private final S3Service s3Service;
+    private final UploadSessionRepository uploadSessionRepository;
+
+    @Value("${app.upload-sessions.ttl:24h}")
+    private Duration sessionTtl;
+
+    /**
+     * Creates the file metadata and starts a new upload session for it.
+     *
+     * @param requestDto The file metadata and the number of chunks the client will send
+     * @param userId     The ID of the uploading user
+     * @return The session with every chunk still missing
+     */
+    public UploadSessionResponseDto createSession(UploadSessionRequestDto requestDto, Integer userId) {
+        log.debug("Service: Creating upload session for user {}, file: {}, chunks: {}",
+                userId, requestDto.getFileName(), requestDto.getTotalChunks());
+
+        Integer totalChunks = requestDto.getTotalChunks();
+        if (totalChunks == null || totalChunks < 1 || totalChunks > MAX_CHUNKS) {
+            throw ValidationException.single("totalChunks", "Total chunks must be between 1 and " + MAX_CHUNKS);
+        }
+
+        Long fileSizeBytes = requestDto.getFileSizeBytes();
+        if (fileSizeBytes == null || fileSizeBytes < 0) {
+            throw ValidationException.single("fileSizeBytes", "File size must be zero or more bytes");
+        }
+
+        long chunkSizeBytes = planChunkSize(fileSizeBytes + FileService.CONTENT_OVERHEAD_BYTES, totalChunks);
+
+        FileUploadResponseDto metadata = fileService.saveFileMetadata(FileUploadRequestDto.builder()
+                .fileName(requestDto.getFileName())
+                .fileSizeBytes(requestDto.getFileSizeBytes())
+                .contentType(requestDto.getContentType())
+                .build(), userId);
+
+        if (!metadata.isSuccess()) {
+            throw new FileOperationException("Failed to save file metadata for upload session");
+        }
+
+        UserFile userFile = fileService.getOwnedFile(metadata.getFileId(), userId);
+        String s3Key = fileService.generateS3Key(userFile);
+        String uploadId = s3Service.startMultipartUpload(s3Key, userFile.getContentType());
+
+        LocalDateTime createdAt = LocalDateTime.now();
+        UploadSession session = uploadSessionRepository.saveUploadSession(UploadSession.builder()
+                .id(UUID.randomUUID().toString())
+                .fileId(userFile.getId())
+                .userId(userId)
+                .s3Key(s3Key)
+                .s3UploadId(uploadId)
+                .totalChunks(totalChunks)
+                .chunkSizeBytes(chunkSizeBytes)
+                .createdAt(createdAt)
+                .expiresAt(createdAt.plus(sessionTtl))
+                .build());
+
+        log.debug("Service: Upload session {} created for file ID: {}", session.getId(), session.getFileId());
+
+        return toResponse(session, IntStream.rangeClosed(1, totalChunks).boxed().toList());
+    }
+
+    /**
+     * Streams one chunk of an upload session to S3. Re-sending a chunk replaces it. Every chunk
+     * except the last must be exactly the session's chunk size, and the last one only what remains
+     * of the declared size, so the stored chunks never exceed what was charged against the quota.
+     *
+     * @param sessionId     The upload session ID
+     * @param userId        The ID of the uploading user
+     * @param chunkNumber   The 1-based chunk number
+     * @param chunkStream   Stream supplying the chunk content
+     * @param contentLength Exact number of bytes supplied by the stream
+     */
+    public void uploadChunk(String sessionId, Integer userId, int chunkNumber,
+                            InputStream chunkStream, long contentLength) {
+        UploadSession session = getOwnedSession(sessionId, userId);
+
+        if (chunkNumber < 1 || chunkNumber > session.getTotalChunks()) {
+            throw ValidationException.single("chunkNumber",
+                    "Chunk number must be between 1 and " + session.getTotalChunks());
+        }
+
+        UserFile userFile = fileService.getOwnedFile(session.getFileId(), userId);
+        long contentSize = userFile.getFileSizeBytes() + FileService.CONTENT_OVERHEAD_BYTES;
+        long precedingBytes = session.getChunkSizeBytes() * (session.getTotalChunks() - 1);
+
+        if (chunkNumber < session.getTotalChunks()) {
+            if (contentLength != session.getChunkSizeBytes()) {
+                throw ValidationException.single("chunk",
+                        "Chunk " + chunkNumber + " must be exactly " + session.getChunkSizeBytes() + " bytes");
+            }
+        } else if (contentLength > contentSize - precedingBytes) {
+            throw ValidationException.single("chunk",
+                    "The last chunk must be at most " + (contentSize - precedingBytes) + " bytes");
+        }
+
+        s3Service.uploadPart(session.getS3Key(), session.getS3UploadId(), chunkNumber, chunkStream, contentLength);
+    }
+
+    /**
+     * Reports which chunks of an upload session have not yet been stored.
+     *
+     * @param sessionId The upload session ID
+     * @param userId    The ID of the uploading user
+     * @return The session with its missing chunk numbers
+     */
+    public UploadSessionResponseDto getSessionStatus(String sessionId, Integer userId) {
+        UploadSession session = getOwnedSession(sessionId, userId);
+        List<Part> parts = s3Service.listUploadedParts(session.getS3Key(), session.getS3UploadId());
+
+        return toResponse(session, findMissingChunks(session, parts));
+    }
+
+    /**
+     * Assembles the uploaded chunks into the final S3 object and records the file content.
+     * If the stored chunks add up to more than the file's declared size, the session is aborted
+     * instead, since only the declared size was charged against the user's quota.
+     *
+     * @param sessionId The upload session ID
+     * @param userId    The ID of the uploading user
+     * @param commitDto The encryption details of the uploaded content
+     * @return The upload result for the file
+     * @throws StorageQuotaExceededException if the chunks exceed the declared file size
+     */
+    public FileUploadResponseDto commitSession(String sessionId, Integer userId, UploadSessionCommitRequestDto commitDto) {
+        log.debug("Service: Committing upload session {} for user {}", sessionId, userId);
+
+        UploadSession session = getOwnedSession(sessionId, userId);
+        List<Part> parts = s3Service.listUploadedParts(session.getS3Key(), session.getS3UploadId());
+
+        List<Integer> missingChunks = findMissingChunks(session, parts);
+        if (!missingChunks.isEmpty()) {
+            throw ValidationException.single("chunks", "Upload session is missing chunks: " + missingChunks);
+        }
+
+        UserFile userFile = fileService.getOwnedFile(session.getFileId(), userId);
+        long uploadedBytes = parts.stream().mapToLong(Part::size).sum();
+        try {
+            fileService.checkContentSize(userFile, uploadedBytes);
+        } catch (StorageQuotaExceededException e) {
+            log.warn("Service: Aborting upload session {} with {} bytes of chunks", sessionId, uploadedBytes);
+            abortSession(sessionId, userId);
+            throw e;
+        }
+
+        s3Service.completeMultipartUpload(session.getS3Key(), session.getS3UploadId(), parts.stream()
+                .map(part -> CompletedPart.builder()
+                        .partNumber(part.partNumber())
+                        .eTag(part.eTag())
+                        .build())
+                .toList());
+
+        fileService.recordFileContent(userFile, session.getS3Key(),
+                commitDto.getEncryptedKey(), commitDto.getIv(), commitDto.getTag(), commitDto.getKeyIv());
+
+        uploadSessionRepository.deleteUploadSession(sessionId);
+
+        log.debug("Service: Upload session {} committed to S3 key: {}", sessionId, session.getS3Key());
+
+        return FileUploadResponseDto.success(userFile.getId(), userFile.getFileName());
+    }
+
+    /**
+     * Aborts an upload session, discarding its stored chunks and file metadata.
+     *
+     * @param sessionId The upload session ID
+     * @param userId    The ID of the uploading user
+     */
+    public void abortSession(String sessionId, Integer userId) {
+        log.debug("Service: Aborting upload session {} for user {}", sessionId, userId);
+
+        UploadSession session = getOwnedSession(sessionId, userId);
+
+        s3Service.abortMultipartUpload(session.getS3Key(), session.getS3UploadId());
+        uploadSessionRepository.deleteUploadSession(sessionId);
+        fileService.deleteFile(session.getFileId(), userId);
+    }
+
+    /**
+     * Aborts one batch of expired upload sessions. The session rows are deleted first, in one
+     * statement; their S3 multipart uploads are then aborted so the stored parts are released,
+     * and their file metadata is deleted. A failure is logged and does not stop the rest of the batch.
+     *
+     * @param limit The maximum number of sessions to abort
+     * @return The number of expired sessions removed
+     */
+    public int abortExpiredSessions(int limit) {
+        List<UploadSession> expired = uploadSessionRepository.deleteExpiredSessions(LocalDateTime.now(), limit);
+
+        for (UploadSession session : expired) {
+            try {
+                s3Service.abortMultipartUpload(session.getS3Key(), session.getS3UploadId());
+                fileService.deleteFile(session.getFileId(), session.getUserId());
+            } catch (Exception e) {
+                log.error("Service: Failed to release expired upload session {} for file ID: {}",
+                        session.getId(), session.getFileId(), e);
+            }
+        }
+
+        return expired.size();
+    }
+
+    /**
+     * Splits the encrypted content into {@code totalChunks} chunks of equal size, with a shorter
+     * last chunk.
+     *
+     * @param contentSize The declared size of the encrypted content
+     * @param totalChunks The number of chunks the client will send
+     * @return The size of every chunk except the last
+     * @throws ValidationException if any chunk but the last would be under the S3 part minimum,
+     *                             or the last chunk would be empty
+     */
+    private long planChunkSize(long contentSize, int totalChunks) {
+        long chunkSizeBytes = (contentSize + totalChunks - 1) / totalChunks;
+        if (totalChunks > 1
+                && (chunkSizeBytes < MIN_CHUNK_SIZE_BYTES || chunkSizeBytes * (totalChunks - 1) >= contentSize)) {
+            throw ValidationException.single("totalChunks",
+                    "Too many chunks for the file size; every chunk except the last must be at least 5 MiB");
+        }
+
+        return chunkSizeBytes;
+    }
+
+    private UploadSession getOwnedSession(String sessionId, Integer userId) {
+        UploadSession session = uploadSessionRepository.getUploadSessionById(sessionId);
+        if (session == null) {
+            log.error("Service: Upload session not found with ID: {}", sessionId);
+            throw new FileNotFoundException("Upload session not found");
+        }
+
+        if (!session.getUserId().equals(userId)) {
+            log.error("Service: Upload session {} does not belong to user {}", sessionId, userId);
+            throw new FileAccessException("Unauthorized access to upload session");
+        }
+
+        if (!session.getExpiresAt().isAfter(LocalDateTime.now())) {
+            log.error("Service: Upload session {} expired at {}", sessionId, session.getExpiresAt());
+            throw new FileNotFoundException("Upload session has expired");
+        }
+
+        return session;
+    }
+
+    private List<Integer> findMissingChunks(UploadSession session, List<Part> parts) {
+        Set<Integer> storedChunks = parts.stream()
+                .map(Part::partNumber)
+                .collect(Collectors.toSet());
+
+        return IntStream.rangeClosed(1, session.getTotalChunks())
+                .filter(chunk -> !storedChunks.contains(chunk))
+                .boxed()
+                .toList();
+    }
+
+    private UploadSessionResponseDto toResponse(UploadSession session, List<Integer> missingChunks) {
+        return UploadSessionResponseDto.builder()
+                .sessionId(session.getId())
+                .fileId(session.getFileId())
+                .totalChunks(session.getTotalChunks())
+                .chunkSizeBytes(session.getChunkSizeBytes())
+                .missingChunks(missingChunks)
+                .expiresAt(session.getExpiresAt())
+                .build();
+    }
+}
@@ -1,17 +1,29 @@
 package org.clouds.server.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.AllArgsConstructor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.clouds.server.exception.FileAccessException;
 import org.clouds.server.exception.FileNotFoundException;
+import org.clouds.server.exception.StorageQuotaExceededException;
+import org.clouds.server.exception.ValidationException;
 import org.clouds.server.model.FileOwner;
+import org.clouds.server.model.FileTransferSource;
+import org.clouds.server.model.User;
 import org.clouds.server.model.UserFile;
+import org.clouds.server.model.UserFileListing;
 import org.clouds.server.model.UserFilesSecure;
+import org.clouds.server.dto.request.FileTransferRequestDto;
 import org.clouds.server.dto.request.FileUploadRequestDto;
+import org.clouds.server.dto.responses.BulkDeleteResponseDto;
+import org.clouds.server.dto.responses.BulkTransferResponseDto;
+import org.clouds.server.dto.responses.FileTransferResultDto;
 import org.clouds.server.dto.responses.FileUploadResponseDto;
+import org.clouds.server.dto.responses.PresignedUrlResponseDto;
 import org.clouds.server.dto.UserFileDto;
 import org.clouds.server.dto.responses.UserFilesResponseDto;
+import org.clouds.server.repository.BlobRepository;
 import org.clouds.server.repository.FileOwnerRepository;
 import org.clouds.server.repository.UserFileRepository;
 import org.clouds.server.repository.UserFilesSecureRepository;
@@ -20,12 +32,29 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
-
+import org.springframework.transaction.support.TransactionTemplate;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.presigner.model.PresignedGetObjectRequest;
+import software.amazon.awssdk.services.s3.presigner.model.PresignedPutObjectRequest;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Base64;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -33,6 +62,11 @@ import java.util.stream.Collectors;
 @Slf4j(topic = "file.management")
 public class FileService {
     private static final int PAGE_SIZE = 30;
+    private static final String CURSOR_SEPARATOR = "_";
+    private static final int DELETE_BATCH_SIZE = 1000;
+    private static final int MAX_BULK_TRANSFERS = 1000;
+    // The client appends the 16-byte AES-GCM authentication tag to the encrypted content
+    static final long CONTENT_OVERHEAD_BYTES = 16;
 
     private final UserFileRepository userFileRepository;
     private final UserFilesSecureRepository userFilesSecureRepository;
@@ -40,9 +74,26 @@ public class FileService {
     private final S3Service s3Service;
     private final UserRepository userRepository;
     private final UserService userService;
+    private final Executor fileOperationExecutor;
+    private final TransactionTemplate transactionTemplate;
+    private final BlobRepository blobRepository;
 
+    /**
+     * Creates a file's metadata and charges its declared size against the user's storage
+     * quota in the same transaction, so content is only ever uploaded for files that fit.
+     *
+     * @param requestDto The file name, declared size and content type
+     * @param userId     The ID of the uploading user
+     * @return The ID of the new file
+     * @throws StorageQuotaExceededException if the file does not fit within the user's quota
+     */
+    @Timed(value = "clouds.file.operations", extraTags = {"operation", "create"})
     public FileUploadResponseDto saveFileMetadata(FileUploadRequestDto requestDto, Integer userId) {
-        log.info("Service: Preparing to save file metadata for user {}: {}", userId, requestDto);
+        log.debug("Service: Preparing to save file metadata for user {}: {}", userId, requestDto.getFileName());
+
+        if (requestDto.getFileSizeBytes() == null || requestDto.getFileSizeBytes() < 0) {
+            throw ValidationException.single("fileSizeBytes", "File size must be zero or more bytes");
+        }
 
         try {
             UserFile userFile = UserFile.builder()
@@ -54,29 +105,20 @@ public class FileService {
                     .s3Key("none")
                     .build();
 
-            log.info("Service: Created UserFile entity: {}", userFile);
+            UserFile savedFile = transactionTemplate.execute(status -> {
+                chargeStorage(userId, userFile.getFileSizeBytes(), 1);
+                return userFileRepository.saveFileMetadataWithOwner(userFile, Long.valueOf(userId));
+            });
 
-            UserFile savedFile = userFileRepository.saveFileMetadata(userFile);
-
-            log.info("Service: File metadata saved to database with ID: {}", savedFile.getId());
-
-            try {
-                FileOwner fileOwner = new FileOwner();
-                fileOwner.setFileId(savedFile.getId());
-                fileOwner.setOwnerUserId(Long.valueOf(userId));
-                FileOwner savedOwner = fileOwnerRepository.saveFileOwner(fileOwner);
-
-                log.info("Service: File owner information saved for fileId: {}, userId: {}, owner record: {}",
-                        savedFile.getId(), userId, savedOwner);
-            } catch (Exception e) {
-                log.error("Service: Error saving file owner information: {}", e.getMessage(), e);
-            }
+            log.debug("Service: File metadata and owner saved to database with ID: {}", savedFile.getId());
 
             return FileUploadResponseDto.builder()
                     .fileId(savedFile.getId())
                     .fileName(savedFile.getFileName())
                     .success(true)
                     .build();
+        } catch (StorageQuotaExceededException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Service: Error saving file metadata: {}", e.getMessage(), e);
             return FileUploadResponseDto.builder()
@@ -86,16 +128,92 @@ public class FileService {
         }
     }
 
+    /**
+     * Saves encrypted file content by streaming it straight to S3, so the
+     * ciphertext is never buffered in memory as a whole. Content larger than the
+     * size charged to the user's quota is rejected before anything is uploaded.
+     *
+     * @param fileId           The ID of the file to save content for
+     * @param userId           The ID of the user uploading the content
+     * @param encryptedContent Stream supplying the encrypted content
+     * @param contentLength    Exact number of bytes supplied by the stream
+     * @param encryptedKey     The wrapped symmetric key
+     * @param iv               IV used for content encryption
+     * @param tag              Authentication tag of the content
+     * @param keyIv            IV used for key wrapping
+     */
+    @Timed(value = "clouds.file.operations", extraTags = {"operation", "upload"})
     public void saveFileContent(Long fileId,
                                 Integer userId,
-                                byte[] encryptedContent,
+                                InputStream encryptedContent,
+                                long contentLength,
                                 String encryptedKey,
                                 String iv,
                                 String tag,
                                 String keyIv
     ) {
-        log.info("Service: Saving file content for fileId: {}, userId: {}", fileId, userId);
+        log.debug("Service: Saving file content for fileId: {}, userId: {}", fileId, userId);
+
+        UserFile userFile = getOwnedFile(fileId, userId);
+        checkContentSize(userFile, contentLength);
+        String s3Key = generateS3Key(userFile);
+
+        s3Service.uploadFile(encryptedContent, contentLength, userFile.getContentType(), s3Key);
 
+        recordFileContent(userFile, s3Key, encryptedKey, iv, tag, keyIv);
+
+        log.debug("Service: File content saved and uploaded to S3 successfully: {}", s3Key);
+    }
+
+    /**
+     * Saves encrypted file content without holding the calling thread. Database work runs
+     * on the file operation executor and the S3 upload on the non-blocking client.
+     *
+     * @param fileId           The ID of the file to save content for
+     * @param userId           The ID of the user uploading the content
+     * @param contentFile      Path of the file holding the encrypted content
+     * @param encryptedKey     The wrapped symmetric key
+     * @param iv               IV used for content encryption
+     * @param tag              Authentication tag of the content
+     * @param keyIv            IV used for key wrapping
+     * @return A future completed once the content is stored and recorded
+     */
+    @Timed(value = "clouds.file.operations", extraTags = {"operation", "upload"})
+    public CompletableFuture<Void> saveFileContentAsync(Long fileId,
+                                                        Integer userId,
+                                                        Path contentFile,
+                                                        String encryptedKey,
+                                                        String iv,
+                                                        String tag,
+                                                        String keyIv
+    ) {
+        log.debug("Service: Saving file content asynchronously for fileId: {}, userId: {}", fileId, userId);
+
+        return CompletableFuture.supplyAsync(() -> {
+                    UserFile userFile = getOwnedFile(fileId, userId);
+                    checkContentSize(userFile, contentFile.toFile().length());
+                    return userFile;
+                }, fileOperationExecutor)
+                .thenCompose(userFile -> {
+                    String s3Key = generateS3Key(userFile);
+                    return s3Service.uploadFileAsync(contentFile, userFile.getContentType(), s3Key)
+                            .thenRunAsync(() -> {
+                                recordFileContent(userFile, s3Key, encryptedKey, iv, tag, keyIv);
+                                log.debug("Service: File content saved and uploaded to S3 successfully: {}", s3Key);
+                            }, fileOperationExecutor);
+                });
+    }
+
+    /**
+     * Loads a file and verifies that it belongs to the given user.
+     *
+     * @param fileId The ID of the file
+     * @param userId The ID of the user claiming the file
+     * @return The file metadata
+     * @throws FileNotFoundException if the file does not exist
+     * @throws FileAccessException   if the file belongs to another user
+     */
+    public UserFile getOwnedFile(Long fileId, Integer userId) {
         UserFile userFile = userFileRepository.getUserFileById(fileId);
         if (userFile == null) {
             log.error("Service: File not found with ID: {}", fileId);
@@ -107,17 +225,71 @@ public class FileService {
             throw new FileAccessException("Unauthorized access to file");
         }
 
-        String folder = s3Service.determineFolder(userFile.getContentType());
-        String s3Key = folder + UUID.randomUUID() + "_" + userFile.getFileName();
+        return userFile;
+    }
 
-        s3Service.uploadFile(encryptedContent, userFile.getContentType(), s3Key);
+    /**
+     * Rejects content larger than the file's declared size, which is what was charged
+     * against the user's storage quota when the file was created.
+     *
+     * @param userFile      The file metadata
+     * @param contentLength The number of bytes of encrypted content
+     * @throws StorageQuotaExceededException if the content exceeds the declared size
+     */
+    public void checkContentSize(UserFile userFile, long contentLength) {
+        if (contentLength > userFile.getFileSizeBytes() + CONTENT_OVERHEAD_BYTES) {
+            log.warn("Service: Content of {} bytes exceeds declared size {} of file ID: {}",
+                    contentLength, userFile.getFileSizeBytes(), userFile.getId());
+            throw StorageQuotaExceededException.contentTooLarge(userFile.getId(), userFile.getFileSizeBytes());
+        }
+    }
+
+    private void chargeStorage(Integer userId, long bytes, int files) {
+        if (userRepository.chargeStorage(Long.valueOf(userId), bytes, files) == 0) {
+            log.warn("Service: Storage quota exceeded for user {} by a write of {} bytes", userId, bytes);
+            throw StorageQuotaExceededException.forBytes(bytes);
+        }
+    }
+
+    private int countUserFiles(Integer userId) {
+        Integer fileCount = userRepository.findFileCountById(Long.valueOf(userId));
+        return fileCount != null ? fileCount : 0;
+    }
 
+    /**
+     * Generates a fresh S3 key for a file's content, placed in the folder matching its content type.
+     *
+     * @param userFile The file metadata
+     * @return The new S3 key
+     */
+    public String generateS3Key(UserFile userFile) {
+        String folder = s3Service.determineFolder(userFile.getContentType());
+        return folder + UUID.randomUUID() + "_" + userFile.getFileName();
+    }
+
+    /**
+     * Records that a file's content is stored in S3 under the given key, together with
+     * the encryption details needed to decrypt it.
+     *
+     * @param userFile     The file metadata
+     * @param s3Key        The S3 key holding the encrypted content
+     * @param encryptedKey The wrapped symmetric key
+     * @param iv           IV used for content encryption
+     * @param tag          Authentication tag of the content
+     * @param keyIv        IV used for key wrapping
+     */
+    public void recordFileContent(UserFile userFile,
+                                  String s3Key,
+                                  String encryptedKey,
+                                  String iv,
+                                  String tag,
+                                  String keyIv
+    ) {
         userFile.setS3Key(s3Key);
-        userFileRepository.updateUserFile(userFile);
 
         UserFilesSecure secureDetails = UserFilesSecure.builder()
-                .fileId(fileId)
-                .userId(Long.valueOf(userId))
+                .fileId(userFile.getId())
+                .userId(Long.valueOf(userFile.getUserId()))
                 .wrappedKey(encryptedKey)
                 .fileIv(iv)
                 .fileTag(tag)
@@ -125,23 +297,102 @@ public class FileService {
                 .createdAt(LocalDateTime.now())
                 .build();
 
-        userFilesSecureRepository.saveSecureDetails(secureDetails);
+        userFileRepository.saveFileContentRecord(userFile, secureDetails);
+    }
+
+    /**
+     * Issues a short-lived pre-signed URL so the client can upload the encrypted content
+     * directly to S3. The URL is signed for the file's declared size, so S3 rejects larger
+     * content. The issued key is kept as the file's pending key, so the completion callback
+     * cannot point the file at any other object, and is registered as an unreferenced blob,
+     * so the object is reaped if the upload is never completed.
+     *
+     * @param fileId The ID of the file to upload content for
+     * @param userId The ID of the uploading user
+     * @return The pre-signed PUT URL with the content type and length the client must send
+     */
+    public PresignedUrlResponseDto createPresignedUpload(Long fileId, Integer userId) {
+        log.debug("Service: Issuing pre-signed upload URL for fileId: {}, userId: {}", fileId, userId);
+
+        UserFile userFile = getOwnedFile(fileId, userId);
+        String s3Key = generateS3Key(userFile);
+
+        long contentLength = userFile.getFileSizeBytes() + CONTENT_OVERHEAD_BYTES;
+
+        PresignedPutObjectRequest presigned = s3Service.presignUpload(s3Key, userFile.getContentType(), contentLength);
+        LocalDateTime expiresAt = LocalDateTime.ofInstant(presigned.expiration(), ZoneId.systemDefault());
+
+        transactionTemplate.executeWithoutResult(status -> {
+            blobRepository.savePendingBlob(s3Key, expiresAt);
+            userFileRepository.updatePendingS3Key(fileId, s3Key);
+        });
+
+        return PresignedUrlResponseDto.builder()
+                .fileId(fileId)
+                .url(presigned.url().toString())
+                .httpMethod(presigned.httpRequest().method().name())
+                .contentType(userFile.getContentType())
+                .contentLength(contentLength)
+                .expiresAt(expiresAt)
+                .build();
+    }
+
+    /**
+     * Records the encryption details of content uploaded through a pre-signed URL,
+     * after confirming the object actually reached S3 and fits the file's declared size.
+     * The pending key only becomes the file's content here, while its blob is locked so the
+     * reaper cannot delete the object in between.
+     *
+     * @param fileId       The ID of the file
+     * @param userId       The ID of the uploading user
+     * @param encryptedKey The wrapped symmetric key
+     * @param iv           IV used for content encryption
+     * @param tag          Authentication tag of the content
+     * @param keyIv        IV used for key wrapping
+     */
+    public void completePresignedUpload(Long fileId,
+                                        Integer userId,
+                                        String encryptedKey,
+                                        String iv,
+                                        String tag,
+                                        String keyIv
+    ) {
+        log.debug("Service: Completing pre-signed upload for fileId: {}, userId: {}", fileId, userId);
+
+        UserFile userFile = getOwnedFile(fileId, userId);
+        String s3Key = userFile.getPendingS3Key();
+        if (s3Key == null) {
+            log.error("Service: No pre-signed upload was issued for file ID: {}", fileId);
+            throw new FileNotFoundException("No pending upload for file");
+        }
 
-        log.info("Service: File content saved and uploaded to S3 successfully: {}", s3Key);
+        checkContentSize(userFile, s3Service.getObjectSize(s3Key));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!blobRepository.lockPendingBlob(s3Key)) {
+                log.error("Service: Pre-signed upload {} for file ID: {} was already reaped", s3Key, fileId);
+                throw new FileNotFoundException("Pre-signed upload has expired");
+            }
+
+            recordFileContent(userFile, s3Key, encryptedKey, iv, tag, keyIv);
+        });
+
+        log.debug("Service: Pre-signed upload recorded for S3 key: {}", s3Key);
     }
 
+    @Timed(value = "clouds.file.operations", extraTags = {"operation", "list"})
     public UserFilesResponseDto getUserFiles(Integer userId, int page) {
-        log.info("Service: Getting files for user {} (page: {})", userId, page);
+        log.debug("Service: Getting files for user {} (page: {})", userId, page);
 
-        List<UserFile> userFiles = userFileRepository.getUserFilesByPage(userId, page, PAGE_SIZE);
-        int totalFiles = userFileRepository.countUserFiles(userId);
+        List<UserFileListing> listing = userFileRepository.getUserFileListingByPage(userId, page, PAGE_SIZE);
+        int totalFiles = countUserFiles(userId);
         boolean hasMoreFiles = (page + 1) * PAGE_SIZE < totalFiles;
 
-        List<UserFileDto> fileDtos = userFiles.stream()
+        List<UserFileDto> fileDtos = listing.stream()
                 .map(this::convertToDto)
                 .collect(Collectors.toList());
 
-        log.info("Service: Returning {} files, hasMore: {}", fileDtos.size(), hasMoreFiles);
+        log.debug("Service: Returning {} files, hasMore: {}", fileDtos.size(), hasMoreFiles);
 
         return UserFilesResponseDto.builder()
                 .files(fileDtos)
@@ -151,33 +402,92 @@ public class FileService {
                 .build();
     }
 
-    private UserFileDto convertToDto(UserFile userFile) {
-        FileOwner fileOwner = fileOwnerRepository.getFileOwnerByFileId(userFile.getId());
+    /**
+     * Returns the page of a user's files that follows the given cursor, newest first.
+     * Pages are fetched with a (created_at, id) seek instead of an offset, so every page
+     * costs the same regardless of depth; the total is the user's maintained file count.
+     *
+     * @param userId The ID of the user
+     * @param cursor The cursor returned with the previous page, or null for the first page
+     * @return The page of files with the cursor for the next page, if any
+     */
+    @Timed(value = "clouds.file.operations", extraTags = {"operation", "list"})
+    public UserFilesResponseDto getUserFilesAfter(Integer userId, String cursor) {
+        log.debug("Service: Getting files for user {} (cursor: {})", userId, cursor);
+
+        LocalDateTime afterCreatedAt = null;
+        Long afterId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            String[] seekKey = decodeCursor(cursor);
+            afterCreatedAt = LocalDateTime.parse(seekKey[0]);
+            afterId = Long.valueOf(seekKey[1]);
+        }
+
+        List<UserFileListing> listing = userFileRepository.getUserFileListingAfter(
+                userId, afterCreatedAt, afterId, PAGE_SIZE + 1);
+
+        boolean hasMoreFiles = listing.size() > PAGE_SIZE;
+        List<UserFileListing> page = hasMoreFiles ? listing.subList(0, PAGE_SIZE) : listing;
+        String nextCursor = hasMoreFiles ? encodeCursor(page.get(page.size() - 1)) : null;
+
+        int totalFiles = countUserFiles(userId);
+
+        List<UserFileDto> fileDtos = page.stream()
+                .map(this::convertToDto)
+                .collect(Collectors.toList());
+
+        log.debug("Service: Returning {} files, hasMore: {}", fileDtos.size(), hasMoreFiles);
+
+        return UserFilesResponseDto.builder()
+                .files(fileDtos)
+                .hasMoreFiles(hasMoreFiles)
+                .totalFiles(totalFiles)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    private String encodeCursor(UserFileListing file) {
+        String seekKey = file.getCreatedAt() + CURSOR_SEPARATOR + file.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(seekKey.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String[] decodeCursor(String cursor) {
+        try {
+            String seekKey = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = seekKey.split(CURSOR_SEPARATOR, 2);
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Malformed seek key");
+            }
+            LocalDateTime.parse(parts[0]);
+            Long.parseLong(parts[1]);
+            return parts;
+        } catch (RuntimeException e) {
+            log.warn("Service: Invalid file listing cursor: {}", cursor);
+            throw ValidationException.single("cursor", "Invalid cursor");
+        }
+    }
+
+    UserFileDto convertToDto(UserFileListing file) {
         String owner = "You";
 
-        if (fileOwner != null) {
+        if (file.getOwnerUserId() != null) {
             log.debug("File ID: {}, Owner User ID: {}, Current User ID: {}",
-                    userFile.getId(), fileOwner.getOwnerUserId(), userFile.getUserId());
-
-            if (!Long.valueOf(userFile.getUserId()).equals(fileOwner.getOwnerUserId())) {
-                String ownerName = userRepository.findUserNameById(fileOwner.getOwnerUserId().intValue());
-                log.debug("Getting owner name for user ID: {}, Name: {}",
-                        fileOwner.getOwnerUserId(), ownerName);
+                    file.getId(), file.getOwnerUserId(), file.getUserId());
 
-                if (ownerName != null && !ownerName.isEmpty()) {
-                    owner = ownerName;
-                }
+            String ownerName = file.getOwnerName();
+            if (ownerName != null && !ownerName.isEmpty()) {
+                owner = ownerName;
             }
         } else {
-            log.warn("No file owner record found for file ID: {}", userFile.getId());
+            log.debug("No file owner record found for file ID: {}", file.getId());
         }
 
         return UserFileDto.builder()
-                .id(userFile.getId())
-                .fileName(userFile.getFileName())
-                .fileSizeBytes(userFile.getFileSizeBytes())
-                .contentType(userFile.getContentType())
-                .createdAt(userFile.getCreatedAt())
+                .id(file.getId())
+                .fileName(file.getFileName())
+                .fileSizeBytes(file.getFileSizeBytes())
+                .contentType(file.getContentType())
+                .createdAt(file.getCreatedAt())
                 .owner(owner)
                 .build();
     }
@@ -194,8 +504,17 @@ public class FileService {
         return String.format("%.1f %s", size, units[digitGroups]);
     }
 
+    /**
+     * Deletes a file's records. This drops the file's reference to its stored object, which
+     * other files may share after transfers; the blob reaper deletes the object from S3 once
+     * no file refers to it.
+     *
+     * @param fileId The ID of the file to delete
+     * @param userId The ID of the requesting user
+     */
+    @Timed(value = "clouds.file.operations", extraTags = {"operation", "delete"})
     public void deleteFile(Long fileId, Integer userId) {
-        log.info("Service: Deleting file with ID: {}, for user: {}", fileId, userId);
+        log.debug("Service: Deleting file with ID: {}, for user: {}", fileId, userId);
 
         UserFile userFile = userFileRepository.getUserFileById(fileId);
         if (userFile == null) {
@@ -208,46 +527,95 @@ public class FileService {
             throw new RuntimeException("Unauthorized access to file");
         }
 
-        if (userFile.getS3Key() != null && !userFile.getS3Key().equals("none")) {
-            s3Service.deleteFile(userFile.getS3Key());
-        }
+        deleteFileRecords(fileId);
 
-        userFilesSecureRepository.deleteByFileId(fileId);
-        fileOwnerRepository.deleteByFileId(fileId);
+        log.debug("Service: File with ID: {} successfully deleted", fileId);
+    }
 
-        userFileRepository.deleteFile(fileId);
+    /**
+     * Deletes a file without holding the calling thread. Database work runs on the
+     * file operation executor; the stored object is left to the blob reaper.
+     *
+     * @param fileId The ID of the file to delete
+     * @param userId The ID of the requesting user
+     * @return A future completed once the file is deleted
+     */
+    @Timed(value = "clouds.file.operations", extraTags = {"operation", "delete"})
+    public CompletableFuture<Void> deleteFileAsync(Long fileId, Integer userId) {
+        log.debug("Service: Deleting file asynchronously with ID: {}, for user: {}", fileId, userId);
+
+        return CompletableFuture.runAsync(() -> {
+            getOwnedFile(fileId, userId);
+            deleteFileRecords(fileId);
+            log.debug("Service: File with ID: {} successfully deleted", fileId);
+        }, fileOperationExecutor);
+    }
 
-        log.info("Service: File with ID: {} successfully deleted", fileId);
+    private void deleteFileRecords(Long fileId) {
+        transactionTemplate.executeWithoutResult(status -> {
+            userFilesSecureRepository.deleteByFileId(fileId);
+            fileOwnerRepository.deleteByFileId(fileId);
+
+            userFileRepository.deleteFile(fileId);
+        });
     }
 
-    public byte[] downloadFile(Long fileId, Integer userId) {
-        log.info("Service: Downloading file with ID: {}, for user: {}", fileId, userId);
+    /**
+     * Opens a streaming download of a byte range of a file's encrypted content without
+     * holding the calling thread. The future completes once S3 has returned the response headers.
+     *
+     * @param fileId The ID of the file to download
+     * @param userId The ID of the requesting user
+     * @param range  An HTTP range specifier such as {@code bytes=0-1023}, or null for the whole file
+     * @return A future of the open S3 object stream with its metadata
+     */
+    @Timed(value = "clouds.file.operations", extraTags = {"operation", "download"})
+    public CompletableFuture<ResponseInputStream<GetObjectResponse>> openFileContentStreamAsync(Long fileId,
+                                                                                              Integer userId,
+                                                                                              String range) {
+        log.debug("Service: Opening download stream asynchronously for file with ID: {}, for user: {}, range: {}",
+                fileId, userId, range);
+
+        return CompletableFuture.supplyAsync(() -> getDownloadableFile(fileId, userId), fileOperationExecutor)
+                .thenCompose(userFile -> s3Service.openDownloadStreamAsync(userFile.getS3Key(), range));
+    }
 
-        UserFile userFile = userFileRepository.getUserFileById(fileId);
-        if (userFile == null) {
-            log.error("Service: File not found with ID: {}", fileId);
-            throw new RuntimeException("File not found");
-        }
+    /**
+     * Issues a short-lived pre-signed URL so the client can download the encrypted content
+     * directly from S3.
+     *
+     * @param fileId The ID of the file to download
+     * @param userId The ID of the requesting user
+     * @return The pre-signed GET URL
+     */
+    public PresignedUrlResponseDto createPresignedDownload(Long fileId, Integer userId) {
+        log.debug("Service: Issuing pre-signed download URL for fileId: {}, userId: {}", fileId, userId);
 
-        if (!userFile.getUserId().equals(userId)) {
-            log.error("Service: File {} does not belong to user {}", fileId, userId);
-            throw new RuntimeException("Unauthorized access to file");
-        }
+        UserFile userFile = getDownloadableFile(fileId, userId);
+        PresignedGetObjectRequest presigned = s3Service.presignDownload(userFile.getS3Key());
+
+        return PresignedUrlResponseDto.builder()
+                .fileId(fileId)
+                .url(presigned.url().toString())
+                .httpMethod(presigned.httpRequest().method().name())
+                .contentType(userFile.getContentType())
+                .expiresAt(LocalDateTime.ofInstant(presigned.expiration(), ZoneId.systemDefault()))
+                .build();
+    }
+
+    private UserFile getDownloadableFile(Long fileId, Integer userId) {
+        UserFile userFile = getOwnedFile(fileId, userId);
 
         if (userFile.getS3Key() == null || userFile.getS3Key().equals("none")) {
             log.error("Service: S3 key not found for file ID: {}", fileId);
-            throw new RuntimeException("File content not available");
+            throw new FileNotFoundException("File content not available");
         }
 
-        byte[] encryptedContent = s3Service.downloadFile(userFile.getS3Key());
-
-        log.info("Service: Downloaded encrypted file from S3: {}", userFile.getS3Key());
-
-        return encryptedContent;
+        return userFile;
     }
 
     public Map<String, Object> getFileDetailsForDownload(Long fileId, Integer userId) {
-        log.info("Service: Getting file details for download, fileId: {}, userId: {}", fileId, userId);
+        log.debug("Service: Getting file details for download, fileId: {}, userId: {}", fileId, userId);
 
         UserFile userFile = userFileRepository.getUserFileById(fileId);
         if (userFile == null) {
@@ -278,18 +646,18 @@ public class FileService {
         FileOwner fileOwner = fileOwnerRepository.getFileOwnerByFileId(fileId);
         if (fileOwner != null && !Long.valueOf(userId).equals(fileOwner.getOwnerUserId())) {
             Long ownerUserId = fileOwner.getOwnerUserId();
-            log.info("Service: This is a transferred file. Looking up public key for owner userId: {}", ownerUserId);
+            log.debug("Service: This is a transferred file. Looking up public key for owner userId: {}", ownerUserId);
 
             String ownerPublicKey = userService.findUserPublicKeyById(ownerUserId.intValue());
             if (ownerPublicKey != null) {
                 details.put("senderPublicKeyHex", ownerPublicKey);
-                log.info("Service: Included sender's public key in file details response");
+                log.debug("Service: Included sender's public key in file details response");
             } else {
                 log.warn("Service: Could not find public key for file owner userId: {}", ownerUserId);
             }
         }
 
-        log.info("Service: Returning file details for download, fileId: {}", fileId);
+        log.debug("Service: Returning file details for download, fileId: {}", fileId);
 
         return details;
     }
@@ -303,9 +671,10 @@ public class FileService {
      * @param newWrappedKey  The file key wrapped with the recipient's key
      * @param newKeyIv       The IV used for the newly wrapped key
      */
+    @Timed(value = "clouds.file.operations", extraTags = {"operation", "transfer"})
     public void transferFile(Long fileId, Integer sourceUserId, String recipientEmail,
                              String newWrappedKey, String newKeyIv) {
-        log.info("Service: Transferring file ID: {} from user: {} to recipient: {}",
+        log.debug("Service: Transferring file ID: {} from user: {} to recipient: {}",
                 fileId, sourceUserId, recipientEmail);
 
         UserFile userFile = userFileRepository.getUserFileById(fileId);
@@ -335,7 +704,7 @@ public class FileService {
         Long originalOwnerId = (originalFileOwner != null) ?
                 originalFileOwner.getOwnerUserId() : Long.valueOf(sourceUserId);
 
-        log.info("Service: Original file owner ID: {}", originalOwnerId);
+        log.debug("Service: Original file owner ID: {}", originalOwnerId);
 
         try {
             UserFile newFile = UserFile.builder()
@@ -347,27 +716,27 @@ public class FileService {
                     .s3Key(userFile.getS3Key())
                     .build();
 
-            UserFile savedFile = userFileRepository.saveFileMetadata(newFile);
-
             UserFilesSecure newSecureDetails = UserFilesSecure.builder()
-                    .fileId(savedFile.getId())
                     .userId(Long.valueOf(recipientUserId))
                     .wrappedKey(newWrappedKey)
                     .fileIv(secureDetails.getFileIv())
                     .fileTag(secureDetails.getFileTag())
                     .keyIv(newKeyIv)
-                    .createdAt(LocalDateTime.now())
                     .build();
 
-            userFilesSecureRepository.saveSecureDetails(newSecureDetails);
-
-            FileOwner fileOwner = new FileOwner();
-            fileOwner.setFileId(savedFile.getId());
-            fileOwner.setOwnerUserId(originalOwnerId);
-            FileOwner savedOwner = fileOwnerRepository.saveFileOwner(fileOwner);
+            UserFile savedFile = transactionTemplate.execute(status -> {
+                chargeStorage(recipientUserId, newFile.getFileSizeBytes(), 1);
+                UserFile saved = userFileRepository.saveTransferredFile(fileId, newFile, newSecureDetails, originalOwnerId);
+                if (saved == null) {
+                    throw new FileNotFoundException("File not found");
+                }
+                return saved;
+            });
 
-            log.info("Service: File successfully transferred. New file ID: {}, File Owner: {}",
-                    savedFile.getId(), savedOwner);
+            log.debug("Service: File successfully transferred. New file ID: {}, original owner: {}",
+                    savedFile.getId(), originalOwnerId);
+        } catch (FileNotFoundException | StorageQuotaExceededException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Service: Error transferring file: {}", e.getMessage(), e);
             throw new RuntimeException("Error transferring file: " + e.getMessage());
@@ -375,33 +744,205 @@ public class FileService {
     }
 
     /**
-     * Deletes all files belonging to a user
+     * Transfers many files to many recipients at once. The files and recipients of all items are
+     * loaded with one query each, and the new rows of all valid items are inserted with JDBC
+     * batches in a single transaction. Items that fail validation are reported individually and
+     * do not stop the others.
      *
-     * @param userId The ID of the user whose files should be deleted
+     * @param sourceUserId The user ID of the current file owner
+     * @param transfers    The (file, recipient, wrapped key, key IV) items to transfer
+     * @return The number of transferred items and a result for every item, in request order
      */
-    public void deleteAllUserFiles(Integer userId) {
-        log.info("Service: Deleting all files for user: {}", userId);
+    @Timed(value = "clouds.file.operations", extraTags = {"operation", "transfer_bulk"})
+    public BulkTransferResponseDto transferFiles(Integer sourceUserId, List<FileTransferRequestDto> transfers) {
+        if (transfers == null || transfers.isEmpty()) {
+            throw ValidationException.single("transfers", "At least one transfer is required");
+        }
+        if (transfers.size() > MAX_BULK_TRANSFERS) {
+            throw ValidationException.single("transfers", "At most " + MAX_BULK_TRANSFERS + " transfers are allowed per request");
+        }
+
+        log.debug("Service: Transferring {} items from user: {}", transfers.size(), sourceUserId);
+
+        List<Long> fileIds = transfers.stream()
+                .map(FileTransferRequestDto::getFileId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        Map<Long, FileTransferSource> sources = fileIds.isEmpty()
+                ? Map.of()
+                : userFileRepository.getTransferSources(sourceUserId, fileIds).stream()
+                        .collect(Collectors.toMap(FileTransferSource::getFileId, Function.identity()));
+
+        Set<String> recipientEmails = transfers.stream()
+                .map(FileTransferRequestDto::getRecipientEmail)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<String, Integer> recipientIds = recipientEmails.isEmpty()
+                ? Map.of()
+                : userRepository.findByEmailIn(recipientEmails).stream()
+                        .collect(Collectors.toMap(User::getEmail, user -> user.getId().intValue()));
+
+        List<FileTransferResultDto> results = new ArrayList<>(transfers.size());
+        List<FileTransferResultDto> pendingResults = new ArrayList<>();
+        List<UserFile> newFiles = new ArrayList<>();
+        List<UserFilesSecure> newSecureDetails = new ArrayList<>();
+        List<Long> originalOwnerIds = new ArrayList<>();
+        List<Long> sourceFileIds = new ArrayList<>();
+
+        for (FileTransferRequestDto transfer : transfers) {
+            FileTransferResultDto result = FileTransferResultDto.builder()
+                    .fileId(transfer.getFileId())
+                    .recipientEmail(transfer.getRecipientEmail())
+                    .build();
+            results.add(result);
 
-        List<UserFile> userFiles = userFileRepository.getAllUserFiles(userId);
-        log.info("Service: Found {} files to delete", userFiles.size());
+            FileTransferSource source = sources.get(transfer.getFileId());
+            Integer recipientUserId = recipientIds.get(transfer.getRecipientEmail());
+            if (source == null) {
+                result.setError("File not found");
+                continue;
+            }
+            if (recipientUserId == null) {
+                result.setError("Recipient user not found");
+                continue;
+            }
+            if (transfer.getNewWrappedKey() == null || transfer.getNewKeyIv() == null) {
+                result.setError("Wrapped key and key IV are required");
+                continue;
+            }
 
-        for (UserFile userFile : userFiles) {
+            newFiles.add(UserFile.builder()
+                    .userId(recipientUserId)
+                    .fileName(source.getFileName())
+                    .fileSizeBytes(source.getFileSizeBytes())
+                    .contentType(source.getContentType())
+                    .s3Key(source.getS3Key())
+                    .build());
+            newSecureDetails.add(UserFilesSecure.builder()
+                    .userId(Long.valueOf(recipientUserId))
+                    .wrappedKey(transfer.getNewWrappedKey())
+                    .fileIv(source.getFileIv())
+                    .fileTag(source.getFileTag())
+                    .keyIv(transfer.getNewKeyIv())
+                    .build());
+            originalOwnerIds.add(source.getOwnerUserId());
+            sourceFileIds.add(source.getFileId());
+            pendingResults.add(result);
+        }
+
+        if (!newFiles.isEmpty()) {
             try {
-                if (userFile.getS3Key() != null && !userFile.getS3Key().equals("none")) {
-                    s3Service.deleteFile(userFile.getS3Key());
-                    log.info("Service: Deleted file {} from S3", userFile.getS3Key());
+                String[] itemErrors = new String[newFiles.size()];
+                transactionTemplate.executeWithoutResult(status -> {
+                    // Sources stay locked until commit, so their stored objects cannot be released meanwhile
+                    Set<Long> existingSources = userFileRepository.lockFiles(sourceFileIds.stream().distinct().toList());
+
+                    // Recipients are charged in ID order so concurrent bulk transfers lock their rows consistently
+                    Map<Integer, List<Integer>> itemsByRecipient = new TreeMap<>();
+                    for (int i = 0; i < newFiles.size(); i++) {
+                        if (existingSources.contains(sourceFileIds.get(i))) {
+                            itemsByRecipient.computeIfAbsent(newFiles.get(i).getUserId(), id -> new ArrayList<>()).add(i);
+                        } else {
+                            itemErrors[i] = "File not found";
+                        }
+                    }
+
+                    List<Integer> savable = new ArrayList<>(newFiles.size());
+                    for (Map.Entry<Integer, List<Integer>> entry : itemsByRecipient.entrySet()) {
+                        List<Integer> items = entry.getValue();
+                        long bytes = items.stream().mapToLong(i -> newFiles.get(i).getFileSizeBytes()).sum();
+                        if (userRepository.chargeStorage(Long.valueOf(entry.getKey()), bytes, items.size()) == 0) {
+                            items.forEach(i -> itemErrors[i] = "Recipient storage quota exceeded");
+                        } else {
+                            savable.addAll(items);
+                        }
+                    }
+                    if (savable.isEmpty()) {
+                        return;
+                    }
+
+                    userFileRepository.saveFilesMetadata(savable.stream().map(newFiles::get).toList());
+
+                    List<UserFilesSecure> savedSecureDetails = new ArrayList<>(savable.size());
+                    List<FileOwner> fileOwners = new ArrayList<>(savable.size());
+                    for (int i : savable) {
+                        Long newFileId = newFiles.get(i).getId();
+                        newSecureDetails.get(i).setFileId(newFileId);
+                        savedSecureDetails.add(newSecureDetails.get(i));
+                        fileOwners.add(new FileOwner(null, originalOwnerIds.get(i), newFileId));
+                    }
+
+                    userFilesSecureRepository.saveSecureDetails(savedSecureDetails);
+                    fileOwnerRepository.saveFileOwners(fileOwners);
+                });
+
+                for (int i = 0; i < pendingResults.size(); i++) {
+                    if (itemErrors[i] == null) {
+                        pendingResults.get(i).setSuccess(true);
+                        pendingResults.get(i).setNewFileId(newFiles.get(i).getId());
+                    } else {
+                        pendingResults.get(i).setError(itemErrors[i]);
+                    }
                 }
+            } catch (Exception e) {
+                log.error("Service: Error saving {} transferred files: {}", newFiles.size(), e.getMessage(), e);
+                pendingResults.forEach(result -> result.setError("Transfer could not be saved"));
+            }
+        }
 
-                userFilesSecureRepository.deleteByFileId(userFile.getId());
-                fileOwnerRepository.deleteByFileId(userFile.getId());
-                userFileRepository.deleteFile(userFile.getId());
+        int transferred = pendingResults.stream().mapToInt(result -> result.isSuccess() ? 1 : 0).sum();
+        log.debug("Service: Transferred {} of {} items from user: {}", transferred, transfers.size(), sourceUserId);
 
-                log.info("Service: Successfully deleted file with ID: {}", userFile.getId());
+        return BulkTransferResponseDto.builder()
+                .transferred(transferred)
+                .results(results)
+                .build();
+    }
+
+    /**
+     * Deletes all of a user's files in bulk with set-based deletes, one transaction per batch
+     * of up to 1000 files. Stored objects are left to the blob reaper, which deletes those no
+     * other file shares. Files whose records could not be deleted are kept and reported, so
+     * the call can simply be repeated.
+     *
+     * @param userId The ID of the user
+     * @return The number of deleted files and the IDs of files that could not be deleted
+     */
+    @Timed(value = "clouds.file.operations", extraTags = {"operation", "delete_all"})
+    public BulkDeleteResponseDto deleteAllUserFiles(Integer userId) {
+        log.debug("Service: Deleting all files for user: {}", userId);
+
+        List<Long> deletableIds = userFileRepository.getAllUserFiles(userId).stream()
+                .map(UserFile::getId)
+                .toList();
+        List<Long> failedIds = new ArrayList<>();
+        log.debug("Service: Found {} files to delete", deletableIds.size());
+
+        int deletedFiles = 0;
+        for (int from = 0; from < deletableIds.size(); from += DELETE_BATCH_SIZE) {
+            List<Long> batch = deletableIds.subList(from, Math.min(from + DELETE_BATCH_SIZE, deletableIds.size()));
+            try {
+                Integer deleted = transactionTemplate.execute(status -> {
+                    userFilesSecureRepository.deleteByFileIds(batch);
+                    fileOwnerRepository.deleteByFileIds(batch);
+                    return userFileRepository.deleteFilesByIds(userId, batch);
+                });
+                deletedFiles += deleted != null ? deleted : 0;
             } catch (Exception e) {
-                log.error("Service: Error deleting file with ID: {}: {}", userFile.getId(), e.getMessage(), e);
+                log.error("Service: Error deleting {} file records for user {}: {}", batch.size(), userId, e.getMessage(), e);
+                failedIds.addAll(batch);
             }
         }
 
-        log.info("Service: Completed deletion of all files for user: {}", userId);
+        if (!failedIds.isEmpty()) {
+            log.warn("Service: {} files could not be deleted for user: {}", failedIds.size(), userId);
+        }
+        log.debug("Service: Deleted {} files for user: {}", deletedFiles, userId);
+
+        return BulkDeleteResponseDto.builder()
+                .deletedFiles(deletedFiles)
+                .failedFileIds(failedIds)
+                .build();
     }
 }
\ No newline at end of file
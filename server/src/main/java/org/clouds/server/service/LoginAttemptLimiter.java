@@ -0,0 +1,251 @@
+package org.clouds.server.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.clouds.server.model.LoginAttempt;
+import org.clouds.server.repository.LoginAttemptRepository;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * In-memory brute-force limiter for the login endpoints.
+ * Failed attempts are counted per IP address and per email in a sliding window made of
+ * {@value #BUCKETS} time buckets; each bucket packs its time slot and count into one long,
+ * so counting is a lock-free compare-and-set and checks never touch the database.
+ * Reaching {@code app.login-limiter.max-attempts} within the window blocks the key for
+ * {@code app.login-limiter.block-duration}. Tracked keys are held in a bounded Caffeine cache,
+ * published as the {@code login-attempts} cache metrics.
+ * <p>
+ * With {@code app.login-limiter.persist-blocks=true} block events are written to
+ * {@code login_attempts} off the request thread and periodically read back, so blocks survive
+ * restarts and are shared between nodes. Attempt counts themselves stay per node.
+ *
+ * @author Bohdan
+ * @version 1.0
+ */
+@Component
+@Slf4j(topic = "authentication.limiter")
+public class LoginAttemptLimiter {
+
+    private static final int BUCKETS = 60;
+    private static final int COUNT_BITS = 24;
+    private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+    private static final String BLOCKS_METRIC = "clouds.auth.login.blocks";
+    private static final String IP_SCOPE = "ip";
+    private static final String EMAIL_SCOPE = "email";
+
+    private final Cache<String, AttemptWindow> windows;
+    private final int maxAttempts;
+    private final long bucketMillis;
+    private final long blockMillis;
+    private final boolean persistBlocks;
+    private final LoginAttemptRepository loginAttemptRepository;
+    private final Executor persistenceExecutor;
+    private final MeterRegistry meterRegistry;
+
+    public LoginAttemptLimiter(@Value("${app.login-limiter.max-attempts:15}") int maxAttempts,
+                               @Value("${app.login-limiter.window:1h}") Duration window,
+                               @Value("${app.login-limiter.block-duration:30m}") Duration blockDuration,
+                               @Value("${app.login-limiter.max-keys:100000}") long maxKeys,
+                               @Value("${app.login-limiter.persist-blocks:true}") boolean persistBlocks,
+                               LoginAttemptRepository loginAttemptRepository,
+                               @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+                               Executor persistenceExecutor,
+                               MeterRegistry meterRegistry) {
+        this.maxAttempts = maxAttempts;
+        this.bucketMillis = Math.max(1, window.toMillis() / BUCKETS);
+        this.blockMillis = blockDuration.toMillis();
+        this.persistBlocks = persistBlocks;
+        this.loginAttemptRepository = loginAttemptRepository;
+        this.persistenceExecutor = persistenceExecutor;
+        this.meterRegistry = meterRegistry;
+        this.windows = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(window.compareTo(blockDuration) >= 0 ? window : blockDuration)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, windows, "login-attempts");
+    }
+
+    @PostConstruct
+    public void init() {
+        refreshBlocks();
+        log.info("Login limiter allows {} failed attempts per {} ms window", maxAttempts, bucketMillis * BUCKETS);
+    }
+
+    /**
+     * Checks whether an IP address or email is currently blocked.
+     *
+     * @param email     The email to check, may be null
+     * @param ipAddress The IP address to check
+     * @return true if either is blocked
+     */
+    public boolean isBlocked(String email, String ipAddress) {
+        long now = System.currentTimeMillis();
+        return isBlocked(ipKey(ipAddress), now) || (hasEmail(email) && isBlocked(emailKey(email), now));
+    }
+
+    /**
+     * Records a failed attempt against the IP address and email, blocking whichever of them
+     * reaches the limit within the window.
+     *
+     * @param email     The email used in the attempt, may be null
+     * @param ipAddress The IP address of the client
+     */
+    public void recordFailure(String email, String ipAddress) {
+        long now = System.currentTimeMillis();
+
+        if (recordFailure(ipKey(ipAddress), now)) {
+            onBlocked(IP_SCOPE, null, ipAddress, now);
+        }
+
+        if (hasEmail(email) && recordFailure(emailKey(email), now)) {
+            onBlocked(EMAIL_SCOPE, email, ipAddress, now);
+        }
+    }
+
+    /**
+     * Reloads every unexpired persisted block, including those from other nodes. The full set is
+     * read on each refresh instead of only rows past the highest ID seen, since IDs are assigned
+     * before commit and a block committed out of order would otherwise be missed. Re-applying a
+     * block that is already known has no effect.
+     */
+    @Scheduled(fixedDelayString = "${app.login-limiter.block-refresh-interval:30s}")
+    public void refreshBlocks() {
+        if (!persistBlocks) {
+            return;
+        }
+
+        List<LoginAttempt> blocks = loginAttemptRepository.findActiveBlocks(Instant.now());
+        for (LoginAttempt block : blocks) {
+            String key = hasEmail(block.getEmail()) ? emailKey(block.getEmail()) : ipKey(block.getIpAddress());
+            windows.get(key, k -> new AttemptWindow()).blockUntil(block.getBlockExpiresAt().toEpochMilli());
+        }
+
+        if (!blocks.isEmpty()) {
+            log.debug("Loaded {} persisted login blocks", blocks.size());
+        }
+    }
+
+    private boolean isBlocked(String key, long now) {
+        AttemptWindow window = windows.getIfPresent(key);
+        return window != null && window.isBlocked(now);
+    }
+
+    /**
+     * @return true if this failure newly blocked the key
+     */
+    private boolean recordFailure(String key, long now) {
+        AttemptWindow window = windows.get(key, k -> new AttemptWindow());
+        int attempts = window.increment(now / bucketMillis);
+        return attempts >= maxAttempts && window.blockUntil(now + blockMillis) <= now;
+    }
+
+    private void onBlocked(String scope, String email, String ipAddress, long now) {
+        meterRegistry.counter(BLOCKS_METRIC, "scope", scope).increment();
+        log.info("Blocked login attempts by {} for {} ms", scope, blockMillis);
+
+        if (!persistBlocks) {
+            return;
+        }
+
+        LoginAttempt block = LoginAttempt.builder()
+                .email(email)
+                .ipAddress(ipAddress)
+                .attemptTime(Instant.ofEpochMilli(now))
+                .blocked(true)
+                .blockExpiresAt(Instant.ofEpochMilli(now + blockMillis))
+                .build();
+
+        try {
+            persistenceExecutor.execute(() -> saveBlock(block));
+        } catch (RejectedExecutionException e) {
+            log.warn("Dropped login block event, persistence executor is saturated");
+        }
+    }
+
+    private void saveBlock(LoginAttempt block) {
+        try {
+            loginAttemptRepository.save(block);
+        } catch (Exception e) {
+            log.warn("Failed to persist login block: {}", e.getMessage());
+        }
+    }
+
+    private static boolean hasEmail(String email) {
+        return email != null && !email.isEmpty();
+    }
+
+    private static String ipKey(String ipAddress) {
+        return IP_SCOPE + ":" + ipAddress;
+    }
+
+    private static String emailKey(String email) {
+        return EMAIL_SCOPE + ":" + email;
+    }
+
+    /**
+     * Failed attempts of one key. Each bucket holds its time slot in the high bits and its count
+     * in the low {@value #COUNT_BITS} bits; a bucket left over from an older slot is reset by the
+     * first increment that lands on it.
+     */
+    private static final class AttemptWindow {
+        private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+        private final AtomicLong blockedUntil = new AtomicLong();
+
+        int increment(long slot) {
+            int index = (int) (slot % BUCKETS);
+            long current;
+            long updated;
+            do {
+                current = buckets.get(index);
+                if ((current >>> COUNT_BITS) != slot) {
+                    updated = (slot << COUNT_BITS) | 1;
+                } else if ((current & COUNT_MASK) < COUNT_MASK) {
+                    updated = current + 1;
+                } else {
+                    break;
+                }
+            } while (!buckets.compareAndSet(index, current, updated));
+
+            return count(slot);
+        }
+
+        int count(long slot) {
+            int total = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                long bucket = buckets.get(i);
+                if (slot - (bucket >>> COUNT_BITS) < BUCKETS) {
+                    total += (int) (bucket & COUNT_MASK);
+                }
+            }
+            return total;
+        }
+
+        /**
+         * @return The block expiry before this call
+         */
+        long blockUntil(long until) {
+            return blockedUntil.getAndAccumulate(until, Math::max);
+        }
+
+        boolean isBlocked(long now) {
+            return blockedUntil.get() > now;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package org.clouds.server.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.clouds.server.repository.LoginAttemptRepository;
+import org.clouds.server.repository.SessionRevocationRepository;
+import org.clouds.server.repository.UserSessionRepository;
+import org.clouds.server.repository.UserVerificationRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Periodically purges data that can no longer be used: expired sessions, expired token
+ * revocations, stale login attempts, expired verification codes and abandoned upload sessions.
+ * Rows are removed in bounded batches, each in its own short transaction, and concurrent
+ * sweepers on other nodes skip rows already locked by this one. A sweep stops after
+ * {@code app.retention.max-batches} batches per table, and the remainder is picked up by
+ * the next sweep. Purged rows are counted as {@code clouds.retention.purged.rows} by table.
+ *
+ * @author Bohdan
+ * @version 1.0
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j(topic = "retention")
+public class RetentionSweeper {
+
+    private static final String PURGED_ROWS_METRIC = "clouds.retention.purged.rows";
+
+    private final UserSessionRepository userSessionRepository;
+    private final SessionRevocationRepository sessionRevocationRepository;
+    private final LoginAttemptRepository loginAttemptRepository;
+    private final UserVerificationRepository userVerificationRepository;
+    private final ChunkedUploadService chunkedUploadService;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.retention.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${app.retention.max-batches:100}")
+    private int maxBatches;
+
+    @Value("${app.retention.login-attempts:1d}")
+    private Duration loginAttemptRetention;
+
+    @Scheduled(initialDelayString = "${app.retention.initial-delay:1m}",
+            fixedDelayString = "${app.retention.sweep-interval:10m}")
+    public void sweep() {
+        Instant now = Instant.now();
+        LocalDateTime localNow = LocalDateTime.now();
+
+        purge("user_sessions", limit -> userSessionRepository.deleteExpiredSessions(localNow, limit));
+        purge("session_revocations", limit -> sessionRevocationRepository.deleteExpiredRevocations(localNow, limit));
+        purge("login_attempts", limit -> loginAttemptRepository.deleteStaleAttempts(
+                now.minus(loginAttemptRetention), now, limit));
+        purge("user_verification", limit -> userVerificationRepository.clearExpiredVerificationCodes(now, limit));
+        purge("upload_sessions", chunkedUploadService::abortExpiredSessions);
+    }
+
+    private void purge(String table, IntUnaryOperator batch) {
+        long purged = 0;
+
+        try {
+            for (int i = 0; i < maxBatches; i++) {
+                int rows = batch.applyAsInt(batchSize);
+                purged += rows;
+                if (rows < batchSize) {
+                    break;
+                }
+            }
+        } catch (Exception e) {
+            log.warn("Retention sweep of {} stopped after {} rows: {}", table, purged, e.getMessage());
+        }
+
+        if (purged > 0) {
+            meterRegistry.counter(PURGED_ROWS_METRIC, "table", table).increment(purged);
+            log.info("Purged {} rows from {}", purged, table);
+        }
+    }
+}
@@ -1,21 +1,54 @@
 package org.clouds.server.service;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.annotation.Timed;
 import lombok.extern.slf4j.Slf4j;
+import org.clouds.server.exception.RangeNotSatisfiableException;
 import org.clouds.server.exception.S3Exception;
 import org.clouds.server.exception.StorageConfigurationException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
 import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.awscore.exception.AwsServiceException;
 import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
 import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+import software.amazon.awssdk.core.async.AsyncResponseTransformer;
+import software.amazon.awssdk.core.exception.SdkException;
 import software.amazon.awssdk.core.sync.RequestBody;
 import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.model.*;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+import software.amazon.awssdk.services.s3.presigner.model.GetObjectPresignRequest;
+import software.amazon.awssdk.services.s3.presigner.model.PresignedGetObjectRequest;
+import software.amazon.awssdk.services.s3.presigner.model.PresignedPutObjectRequest;
+import software.amazon.awssdk.services.s3.presigner.model.PutObjectPresignRequest;
 
 import jakarta.annotation.PostConstruct;
-import java.io.ByteArrayOutputStream;
+import jakarta.annotation.PreDestroy;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Service for managing S3 file operations.
@@ -27,6 +60,11 @@ import java.io.IOException;
 @Service
 @Slf4j(topic = "s3.storage")
 public class S3Service {
+
+    private static final int RANGE_NOT_SATISFIABLE_STATUS = 416;
+
+    /** Maximum number of keys S3 accepts in one DeleteObjects request. */
+    private static final int DELETE_BATCH_SIZE = 1000;
     
     @Value("${cloud.aws.s3.bucket-name}")
     private String bucketName;
@@ -39,8 +77,81 @@ public class S3Service {
     
     @Value("${cloud.aws.region.static}")
     private String region;
+
+    @Value("${cloud.aws.s3.multipart.threshold:16MB}")
+    private DataSize multipartThreshold;
+
+    @Value("${cloud.aws.s3.multipart.part-size:8MB}")
+    private DataSize multipartPartSize;
+
+    @Value("${cloud.aws.s3.multipart.concurrency:4}")
+    private int multipartConcurrency;
+
+    @Value("${cloud.aws.s3.multipart.max-part-attempts:3}")
+    private int maxPartAttempts;
+
+    @Value("${cloud.aws.s3.multipart.retry-base-delay:200ms}")
+    private Duration partRetryBaseDelay;
+
+    @Value("${cloud.aws.s3.multipart.retry-max-delay:10s}")
+    private Duration partRetryMaxDelay;
+
+    @Value("${cloud.aws.s3.presign.ttl:15m}")
+    private Duration presignTtl;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    @Qualifier("fileOperationExecutor")
+    private Executor partUploadExecutor;
     
     private S3Client s3Client;
+
+    private S3AsyncClient s3AsyncClient;
+
+    private S3Presigner s3Presigner;
+
+    private Timer partUploadTimer;
+
+    private DistributionSummary partThroughput;
+
+    private Counter partRetryCounter;
+
+    private Counter uploadedBytes;
+
+    private Counter downloadedBytes;
+
+    public S3Service() {
+    }
+
+    /**
+     * Creates a service bound to an existing client instead of building AWS clients in
+     * {@link #init()}, e.g. to benchmark the upload and download paths against an in-memory S3.
+     *
+     * @param s3Client The client to use for all synchronous operations
+     * @param bucketName The bucket to store objects in
+     * @param multipartThreshold The size at or above which uploads use multipart
+     * @param multipartPartSize The size of each multipart part
+     * @param multipartConcurrency The maximum number of parts uploaded concurrently per upload
+     * @param partUploadExecutor The executor that uploads multipart parts
+     * @param meterRegistry The registry for the multipart metrics
+     */
+    S3Service(S3Client s3Client, String bucketName, DataSize multipartThreshold, DataSize multipartPartSize,
+              int multipartConcurrency, Executor partUploadExecutor, MeterRegistry meterRegistry) {
+        this.s3Client = s3Client;
+        this.bucketName = bucketName;
+        this.multipartThreshold = multipartThreshold;
+        this.multipartPartSize = multipartPartSize;
+        this.multipartConcurrency = multipartConcurrency;
+        this.maxPartAttempts = 3;
+        this.partRetryBaseDelay = Duration.ofMillis(200);
+        this.partRetryMaxDelay = Duration.ofSeconds(10);
+        this.partUploadExecutor = partUploadExecutor;
+        this.meterRegistry = meterRegistry;
+        initMultipartUploads();
+        initTransferMetrics();
+    }
     
     /**
      * Initializes the S3 client with configured credentials and region.
@@ -61,12 +172,73 @@ public class S3Service {
                     .region(Region.of(region))
                     .credentialsProvider(StaticCredentialsProvider.create(awsCredentials))
                     .build();
+
+            this.s3AsyncClient = S3AsyncClient.builder()
+                    .region(Region.of(region))
+                    .credentialsProvider(StaticCredentialsProvider.create(awsCredentials))
+                    .build();
+
+            this.s3Presigner = S3Presigner.builder()
+                    .region(Region.of(region))
+                    .credentialsProvider(StaticCredentialsProvider.create(awsCredentials))
+                    .build();
             
             log.info("S3 client initialized successfully");
         } catch (Exception e) {
             log.error("Failed to initialize S3 client: {}", e.getMessage(), e);
             throw S3Exception.initializationFailed(e);
         }
+
+        initMultipartUploads();
+        initTransferMetrics();
+    }
+
+    /**
+     * Registers the per-part metrics. Parts run on the shared file operation executor, which
+     * follows the platform or virtual thread mode; concurrency is limited per upload rather
+     * than by a dedicated pool, so one large upload cannot queue every other upload behind it.
+     */
+    private void initMultipartUploads() {
+        this.partUploadTimer = Timer.builder("clouds.s3.multipart.part.duration")
+                .description("Time taken to upload a single multipart part")
+                .register(meterRegistry);
+        this.partThroughput = DistributionSummary.builder("clouds.s3.multipart.part.throughput")
+                .description("Per-part upload throughput")
+                .baseUnit("bytes/s")
+                .register(meterRegistry);
+        this.partRetryCounter = Counter.builder("clouds.s3.multipart.part.retries")
+                .description("Number of retried multipart part uploads")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Registers the counters of bytes transferred to and from S3. Operation latency is
+     * recorded by the {@code clouds.s3.requests} timers on the public operations.
+     */
+    private void initTransferMetrics() {
+        this.uploadedBytes = Counter.builder("clouds.s3.transferred.bytes")
+                .description("Bytes transferred to and from S3")
+                .baseUnit("bytes")
+                .tag("direction", "upload")
+                .register(meterRegistry);
+        this.downloadedBytes = Counter.builder("clouds.s3.transferred.bytes")
+                .description("Bytes transferred to and from S3")
+                .baseUnit("bytes")
+                .tag("direction", "download")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Releases the async client and presigner on shutdown.
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (s3AsyncClient != null) {
+            s3AsyncClient.close();
+        }
+        if (s3Presigner != null) {
+            s3Presigner.close();
+        }
     }
     
     /**
@@ -77,11 +249,17 @@ public class S3Service {
      * @param fileKey The S3 key for the file
      * @throws S3Exception if upload fails
      */
+    @Timed(value = "clouds.s3.requests", extraTags = {"operation", "upload"})
     public void uploadFile(byte[] fileContent, String contentType, String fileKey) {
-        log.info("Uploading file to S3: {}", fileKey);
+        log.debug("Uploading file to S3: {}", fileKey);
         
         validateFileUploadParams(fileContent, contentType, fileKey);
         ensureS3ClientInitialized();
+
+        if (fileContent.length >= multipartThreshold.toBytes()) {
+            uploadMultipart(new ByteArrayInputStream(fileContent), fileContent.length, contentType, fileKey);
+            return;
+        }
         
         try {
             PutObjectRequest putRequest = PutObjectRequest.builder()
@@ -92,8 +270,9 @@ public class S3Service {
                     .build();
             
             PutObjectResponse response = s3Client.putObject(putRequest, RequestBody.fromBytes(fileContent));
+            uploadedBytes.increment(fileContent.length);
             
-            log.info("File uploaded successfully to S3: {}, ETag: {}", fileKey, response.eTag());
+            log.debug("File uploaded successfully to S3: {}, ETag: {}", fileKey, response.eTag());
         } catch (S3Exception e) {
             throw e;
         } catch (Exception e) {
@@ -103,58 +282,532 @@ public class S3Service {
     }
     
     /**
-     * Downloads a file from S3.
-     * 
+     * Uploads a file to S3 by streaming it from the given input stream.
+     * The content is never fully materialized in memory, so heap use stays
+     * constant regardless of the file size. Content at or above the multipart
+     * threshold is uploaded as a multipart upload with parts sent concurrently.
+     *
+     * @param contentStream The stream supplying the file content
+     * @param contentLength The exact number of bytes the stream will supply
+     * @param contentType The MIME type of the file
+     * @param fileKey The S3 key for the file
+     * @throws S3Exception if upload fails
+     */
+    @Timed(value = "clouds.s3.requests", extraTags = {"operation", "upload"})
+    public void uploadFile(InputStream contentStream, long contentLength, String contentType, String fileKey) {
+        log.debug("Streaming file to S3: {}, size: {} bytes", fileKey, contentLength);
+
+        validateStreamUploadParams(contentStream, contentLength, contentType, fileKey);
+        ensureS3ClientInitialized();
+
+        if (contentLength >= multipartThreshold.toBytes()) {
+            uploadMultipart(contentStream, contentLength, contentType, fileKey);
+            return;
+        }
+
+        try {
+            PutObjectRequest putRequest = PutObjectRequest.builder()
+                    .bucket(bucketName)
+                    .key(fileKey)
+                    .contentType(contentType)
+                    .contentLength(contentLength)
+                    .build();
+
+            PutObjectResponse response = s3Client.putObject(putRequest,
+                    RequestBody.fromInputStream(contentStream, contentLength));
+            uploadedBytes.increment(contentLength);
+
+            log.debug("File streamed successfully to S3: {}, ETag: {}", fileKey, response.eTag());
+        } catch (S3Exception e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("Failed to stream file to S3: {}", e.getMessage(), e);
+            throw S3Exception.uploadFailed(fileKey, e);
+        }
+    }
+
+    /**
+     * Uploads content as an S3 multipart upload. Parts are read sequentially from the
+     * stream and uploaded concurrently on the file operation executor; at most
+     * {@code multipartConcurrency} parts of this upload are buffered or in flight at any time. Each part
+     * is retried on its own, and the whole upload is aborted if any part ultimately fails.
+     *
+     * @param contentStream The stream supplying the file content
+     * @param contentLength The exact number of bytes the stream will supply
+     * @param contentType The MIME type of the file
+     * @param fileKey The S3 key for the file
+     * @throws S3Exception if the upload fails
+     */
+    private void uploadMultipart(InputStream contentStream, long contentLength, String contentType, String fileKey) {
+        long partSize = multipartPartSize.toBytes();
+        log.debug("Starting multipart upload to S3: {}, size: {} bytes, part size: {} bytes",
+                fileKey, contentLength, partSize);
+
+        String uploadId;
+        try {
+            CreateMultipartUploadRequest createRequest = CreateMultipartUploadRequest.builder()
+                    .bucket(bucketName)
+                    .key(fileKey)
+                    .contentType(contentType)
+                    .build();
+
+            uploadId = s3Client.createMultipartUpload(createRequest).uploadId();
+        } catch (Exception e) {
+            log.error("Failed to start multipart upload to S3: {}", e.getMessage(), e);
+            throw S3Exception.uploadFailed(fileKey, e);
+        }
+
+        List<CompletableFuture<CompletedPart>> partFutures = new ArrayList<>();
+        Semaphore partsInFlight = new Semaphore(multipartConcurrency);
+        AtomicBoolean partFailed = new AtomicBoolean(false);
+
+        try {
+            long remaining = contentLength;
+            int partNumber = 1;
+
+            while (remaining > 0 && !partFailed.get()) {
+                partsInFlight.acquire();
+
+                int size = (int) Math.min(partSize, remaining);
+                byte[] partData = contentStream.readNBytes(size);
+                if (partData.length != size) {
+                    partsInFlight.release();
+                    throw new IOException("Stream ended before the declared content length was read");
+                }
+                remaining -= size;
+
+                int currentPart = partNumber++;
+                partFutures.add(CompletableFuture
+                        .supplyAsync(() -> uploadPartWithRetry(fileKey, uploadId, currentPart, partData), partUploadExecutor)
+                        .whenComplete((part, error) -> {
+                            if (error != null) {
+                                partFailed.set(true);
+                            }
+                            partsInFlight.release();
+                        }));
+            }
+
+            List<CompletedPart> completedParts = partFutures.stream()
+                    .map(CompletableFuture::join)
+                    .toList();
+
+            CompleteMultipartUploadRequest completeRequest = CompleteMultipartUploadRequest.builder()
+                    .bucket(bucketName)
+                    .key(fileKey)
+                    .uploadId(uploadId)
+                    .multipartUpload(CompletedMultipartUpload.builder().parts(completedParts).build())
+                    .build();
+
+            CompleteMultipartUploadResponse response = s3Client.completeMultipartUpload(completeRequest);
+            uploadedBytes.increment(contentLength);
+            log.debug("Multipart upload completed to S3: {}, parts: {}, ETag: {}",
+                    fileKey, completedParts.size(), response.eTag());
+        } catch (Exception e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            partFutures.forEach(future -> future.cancel(true));
+            abortMultipartUpload(fileKey, uploadId);
+
+            log.error("Multipart upload to S3 failed: {}", e.getMessage(), e);
+            throw S3Exception.uploadFailed(fileKey, e);
+        }
+    }
+
+    /**
+     * Uploads a file to S3 without blocking the calling thread. The content is read
+     * from disk by the non-blocking client as it is sent.
+     *
+     * @param contentFile Path of the file holding the content
+     * @param contentType The MIME type of the file
+     * @param fileKey The S3 key for the file
+     * @return A future completed once S3 has stored the object
+     */
+    @Timed(value = "clouds.s3.requests", extraTags = {"operation", "upload"})
+    public CompletableFuture<Void> uploadFileAsync(Path contentFile, String contentType, String fileKey) {
+        log.debug("Uploading file to S3 asynchronously: {}", fileKey);
+
+        validateS3Key(fileKey);
+        ensureS3ClientInitialized();
+
+        PutObjectRequest putRequest = PutObjectRequest.builder()
+                .bucket(bucketName)
+                .key(fileKey)
+                .contentType(contentType)
+                .build();
+
+        AsyncRequestBody requestBody = AsyncRequestBody.fromFile(contentFile);
+
+        return s3AsyncClient.putObject(putRequest, requestBody)
+                .handle((response, error) -> {
+                    if (error != null) {
+                        Throwable cause = unwrapCompletion(error);
+                        log.error("Failed to upload file to S3: {}", cause.getMessage(), cause);
+                        throw S3Exception.uploadFailed(fileKey, cause);
+                    }
+                    uploadedBytes.increment(requestBody.contentLength().orElse(0L));
+                    log.debug("File uploaded successfully to S3: {}, ETag: {}", fileKey, response.eTag());
+                    return null;
+                });
+    }
+
+    /**
+     * Opens a streaming download from S3 without blocking the calling thread.
+     * The future completes as soon as the response headers arrive; the body is then
+     * consumed from the returned stream, which the caller must close.
+     *
      * @param s3Key The S3 key of the file to download
-     * @return The file content as a byte array
-     * @throws S3Exception if download fails
+     * @param range An HTTP range specifier such as {@code bytes=0-1023}, or null for the whole object
+     * @return A future of the open S3 object stream
      */
-    public byte[] downloadFile(String s3Key) {
-        log.info("Downloading file from S3: {}", s3Key);
-        
+    @Timed(value = "clouds.s3.requests", extraTags = {"operation", "download"})
+    public CompletableFuture<ResponseInputStream<GetObjectResponse>> openDownloadStreamAsync(String s3Key, String range) {
+        log.debug("Opening download stream from S3 asynchronously: {}, range: {}", s3Key, range);
+
         validateS3Key(s3Key);
         ensureS3ClientInitialized();
-        
+
+        GetObjectRequest getObjectRequest = GetObjectRequest.builder()
+                .bucket(bucketName)
+                .key(s3Key)
+                .range(range)
+                .build();
+
+        return s3AsyncClient.getObject(getObjectRequest, AsyncResponseTransformer.toBlockingInputStream())
+                .thenApply(this::countDownloadedBytes)
+                .exceptionallyCompose(error -> {
+                    Throwable cause = unwrapCompletion(error);
+                    if (range != null && !(cause instanceof NoSuchKeyException)
+                            && cause instanceof AwsServiceException serviceException
+                            && serviceException.statusCode() == RANGE_NOT_SATISFIABLE_STATUS) {
+                        log.warn("Range {} not satisfiable for S3 object: {}", range, s3Key);
+                        return s3AsyncClient.headObject(HeadObjectRequest.builder().bucket(bucketName).key(s3Key).build())
+                                .<ResponseInputStream<GetObjectResponse>>thenApply(head -> {
+                                    throw RangeNotSatisfiableException.forRange(range, head.contentLength());
+                                });
+                    }
+                    log.error("Failed to open download stream from S3: {}", cause.getMessage(), cause);
+                    return CompletableFuture.failedFuture(S3Exception.downloadFailed(s3Key, cause));
+                });
+    }
+
+    /**
+     * Deletes a file from S3 without blocking the calling thread.
+     *
+     * @param s3Key The S3 key of the file to delete
+     * @return A future completed once S3 has deleted the object
+     */
+    @Timed(value = "clouds.s3.requests", extraTags = {"operation", "delete"})
+    public CompletableFuture<Void> deleteFileAsync(String s3Key) {
+        log.debug("Deleting file from S3 asynchronously: {}", s3Key);
+
+        validateS3Key(s3Key);
+        ensureS3ClientInitialized();
+
+        DeleteObjectRequest deleteRequest = DeleteObjectRequest.builder()
+                .bucket(bucketName)
+                .key(s3Key)
+                .build();
+
+        return s3AsyncClient.deleteObject(deleteRequest)
+                .handle((response, error) -> {
+                    if (error != null) {
+                        Throwable cause = unwrapCompletion(error);
+                        log.error("Failed to delete file from S3: {}", cause.getMessage(), cause);
+                        throw S3Exception.deleteFailed(s3Key, cause);
+                    }
+                    log.debug("File deleted successfully from S3: {}", s3Key);
+                    return null;
+                });
+    }
+
+    /**
+     * Starts a multipart upload whose parts are supplied later, e.g. by a resumable upload session.
+     *
+     * @param fileKey The S3 key for the file
+     * @param contentType The MIME type of the file
+     * @return The multipart upload ID
+     * @throws S3Exception if the upload cannot be started
+     */
+    public String startMultipartUpload(String fileKey, String contentType) {
+        log.debug("Starting multipart upload session for S3 key: {}", fileKey);
+
+        validateS3Key(fileKey);
+        ensureS3ClientInitialized();
+
         try {
-            GetObjectRequest getObjectRequest = GetObjectRequest.builder()
+            CreateMultipartUploadRequest createRequest = CreateMultipartUploadRequest.builder()
                     .bucket(bucketName)
-                    .key(s3Key)
+                    .key(fileKey)
+                    .contentType(contentType)
                     .build();
-            
-            try (ResponseInputStream<GetObjectResponse> s3Object = s3Client.getObject(getObjectRequest);
-                 ByteArrayOutputStream buffer = new ByteArrayOutputStream()) {
-                
-                byte[] data = new byte[4096];
-                int bytesRead;
-                
-                while ((bytesRead = s3Object.read(data)) != -1) {
-                    buffer.write(data, 0, bytesRead);
+
+            return s3Client.createMultipartUpload(createRequest).uploadId();
+        } catch (Exception e) {
+            log.error("Failed to start multipart upload to S3: {}", e.getMessage(), e);
+            throw S3Exception.uploadFailed(fileKey, e);
+        }
+    }
+
+    /**
+     * Streams a single part of a multipart upload to S3. Re-uploading a part number
+     * replaces the previously stored part.
+     *
+     * @param fileKey The S3 key of the upload
+     * @param uploadId The multipart upload ID
+     * @param partNumber The 1-based part number
+     * @param partStream Stream supplying the part content
+     * @param partLength Exact number of bytes supplied by the stream
+     * @return The ETag of the stored part
+     * @throws S3Exception if the part upload fails
+     */
+    public String uploadPart(String fileKey, String uploadId, int partNumber,
+                             InputStream partStream, long partLength) {
+        validateStreamUploadParams(partStream, partLength, "application/octet-stream", fileKey);
+        ensureS3ClientInitialized();
+
+        try {
+            UploadPartRequest partRequest = UploadPartRequest.builder()
+                    .bucket(bucketName)
+                    .key(fileKey)
+                    .uploadId(uploadId)
+                    .partNumber(partNumber)
+                    .contentLength(partLength)
+                    .build();
+
+            String eTag = s3Client.uploadPart(partRequest, RequestBody.fromInputStream(partStream, partLength)).eTag();
+            log.debug("Uploaded part {} for S3 key: {}, size: {} bytes", partNumber, fileKey, partLength);
+            return eTag;
+        } catch (Exception e) {
+            log.error("Failed to upload part {} to S3: {}", partNumber, e.getMessage(), e);
+            throw S3Exception.uploadFailed(fileKey, e);
+        }
+    }
+
+    /**
+     * Lists the parts already stored for a multipart upload.
+     *
+     * @param fileKey The S3 key of the upload
+     * @param uploadId The multipart upload ID
+     * @return The stored parts with their sizes, ordered by part number
+     * @throws S3Exception if the parts cannot be listed
+     */
+    public List<Part> listUploadedParts(String fileKey, String uploadId) {
+        validateS3Key(fileKey);
+        ensureS3ClientInitialized();
+
+        try {
+            ListPartsRequest listRequest = ListPartsRequest.builder()
+                    .bucket(bucketName)
+                    .key(fileKey)
+                    .uploadId(uploadId)
+                    .build();
+
+            return s3Client.listPartsPaginator(listRequest).parts().stream()
+                    .sorted(Comparator.comparing(Part::partNumber))
+                    .toList();
+        } catch (Exception e) {
+            log.error("Failed to list uploaded parts from S3: {}", e.getMessage(), e);
+            throw S3Exception.uploadFailed(fileKey, e);
+        }
+    }
+
+    /**
+     * Completes a multipart upload from the given parts.
+     *
+     * @param fileKey The S3 key of the upload
+     * @param uploadId The multipart upload ID
+     * @param parts The parts to assemble, ordered by part number
+     * @throws S3Exception if the upload cannot be completed
+     */
+    public void completeMultipartUpload(String fileKey, String uploadId, List<CompletedPart> parts) {
+        validateS3Key(fileKey);
+        ensureS3ClientInitialized();
+
+        try {
+            CompleteMultipartUploadRequest completeRequest = CompleteMultipartUploadRequest.builder()
+                    .bucket(bucketName)
+                    .key(fileKey)
+                    .uploadId(uploadId)
+                    .multipartUpload(CompletedMultipartUpload.builder().parts(parts).build())
+                    .build();
+
+            CompleteMultipartUploadResponse response = s3Client.completeMultipartUpload(completeRequest);
+            log.debug("Multipart upload completed to S3: {}, parts: {}, ETag: {}",
+                    fileKey, parts.size(), response.eTag());
+        } catch (Exception e) {
+            log.error("Failed to complete multipart upload to S3: {}", e.getMessage(), e);
+            throw S3Exception.uploadFailed(fileKey, e);
+        }
+    }
+
+    /**
+     * Uploads a single part, retrying it on its own up to {@code maxPartAttempts} times.
+     * Retries wait with exponential backoff and full jitter, so parts failing together while
+     * S3 is throttling do not retry in lockstep and burn their attempts within milliseconds.
+     *
+     * @return The completed part descriptor
+     */
+    private CompletedPart uploadPartWithRetry(String fileKey, String uploadId, int partNumber, byte[] partData) {
+        for (int attempt = 1; ; attempt++) {
+            long startNanos = System.nanoTime();
+            try {
+                UploadPartRequest partRequest = UploadPartRequest.builder()
+                        .bucket(bucketName)
+                        .key(fileKey)
+                        .uploadId(uploadId)
+                        .partNumber(partNumber)
+                        .contentLength((long) partData.length)
+                        .build();
+
+                UploadPartResponse response = s3Client.uploadPart(partRequest, RequestBody.fromBytes(partData));
+
+                long elapsedNanos = System.nanoTime() - startNanos;
+                partUploadTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+                partThroughput.record(partData.length / Math.max(elapsedNanos / 1e9, 1e-9));
+
+                log.debug("Uploaded part {} of {} ({} bytes) in {} ms",
+                        partNumber, fileKey, partData.length, TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+
+                return CompletedPart.builder()
+                        .partNumber(partNumber)
+                        .eTag(response.eTag())
+                        .build();
+            } catch (SdkException e) {
+                if (attempt >= maxPartAttempts) {
+                    log.error("Part {} of {} failed after {} attempts", partNumber, fileKey, attempt);
+                    throw e;
+                }
+                partRetryCounter.increment();
+                long delayMillis = retryDelayMillis(attempt);
+                log.warn("Retrying part {} of {} in {} ms after attempt {} failed: {}",
+                        partNumber, fileKey, delayMillis, attempt, e.getMessage());
+                try {
+                    Thread.sleep(delayMillis);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw e;
                 }
-                
-                byte[] content = buffer.toByteArray();
-                log.info("File downloaded successfully from S3: {}, size: {} bytes", s3Key, content.length);
-                return content;
             }
-        } catch (IOException e) {
-            log.error("I/O error downloading file from S3: {}", e.getMessage(), e);
-            throw S3Exception.ioError("download", e);
+        }
+    }
+
+    /**
+     * @return A random delay between zero and the base delay doubled per failed attempt, capped at the maximum
+     */
+    private long retryDelayMillis(int attempt) {
+        long ceilingMillis = partRetryBaseDelay.toMillis() << Math.min(attempt - 1, 20);
+        return ThreadLocalRandom.current().nextLong(Math.min(ceilingMillis, partRetryMaxDelay.toMillis()) + 1);
+    }
+
+    /**
+     * Aborts a multipart upload so no orphaned parts are left behind.
+     * Failures are logged rather than thrown, since abort is a best-effort cleanup.
+     *
+     * @param fileKey The S3 key of the upload
+     * @param uploadId The multipart upload ID
+     */
+    public void abortMultipartUpload(String fileKey, String uploadId) {
+        try {
+            s3Client.abortMultipartUpload(AbortMultipartUploadRequest.builder()
+                    .bucket(bucketName)
+                    .key(fileKey)
+                    .uploadId(uploadId)
+                    .build());
+            log.debug("Aborted multipart upload {} for S3 key: {}", uploadId, fileKey);
+        } catch (Exception e) {
+            log.error("Failed to abort multipart upload {} for S3 key {}: {}", uploadId, fileKey, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Opens a streaming download of a file from S3.
+     * The caller is responsible for closing the returned stream; the object
+     * metadata, including its content length, is available via {@code response()}.
+     *
+     * @param s3Key The S3 key of the file to download
+     * @return The open S3 object stream
+     * @throws S3Exception if the object cannot be opened
+     */
+    public ResponseInputStream<GetObjectResponse> openDownloadStream(String s3Key) {
+        return openDownloadStream(s3Key, null);
+    }
+
+    /**
+     * Opens a streaming download of a byte range of a file in S3.
+     * Only the requested bytes are transferred from S3; the resolved range is
+     * available via {@code response().contentRange()}.
+     *
+     * @param s3Key The S3 key of the file to download
+     * @param range An HTTP range specifier such as {@code bytes=0-1023}, or null for the whole object
+     * @return The open S3 object stream
+     * @throws RangeNotSatisfiableException if the range lies outside the object
+     * @throws S3Exception if the object cannot be opened
+     */
+    @Timed(value = "clouds.s3.requests", extraTags = {"operation", "download"})
+    public ResponseInputStream<GetObjectResponse> openDownloadStream(String s3Key, String range) {
+        log.debug("Opening download stream from S3: {}, range: {}", s3Key, range);
+
+        validateS3Key(s3Key);
+        ensureS3ClientInitialized();
+
+        try {
+            GetObjectRequest getObjectRequest = GetObjectRequest.builder()
+                    .bucket(bucketName)
+                    .key(s3Key)
+                    .range(range)
+                    .build();
+
+            return countDownloadedBytes(s3Client.getObject(getObjectRequest));
         } catch (NoSuchKeyException e) {
             log.error("File not found in S3: {}", s3Key);
             throw S3Exception.downloadFailed(s3Key, e);
+        } catch (AwsServiceException e) {
+            if (range != null && e.statusCode() == RANGE_NOT_SATISFIABLE_STATUS) {
+                log.warn("Range {} not satisfiable for S3 object: {}", range, s3Key);
+                throw RangeNotSatisfiableException.forRange(range, getObjectSize(s3Key));
+            }
+            log.error("Failed to open download stream from S3: {}", e.getMessage(), e);
+            throw S3Exception.downloadFailed(s3Key, e);
         } catch (Exception e) {
-            log.error("Failed to download file from S3: {}", e.getMessage(), e);
+            log.error("Failed to open download stream from S3: {}", e.getMessage(), e);
             throw S3Exception.downloadFailed(s3Key, e);
         }
     }
-    
+
+    /**
+     * Retrieves the size of an object in S3 without downloading it.
+     *
+     * @param s3Key The S3 key of the object
+     * @return The object size in bytes
+     * @throws S3Exception if the metadata cannot be read
+     */
+    public long getObjectSize(String s3Key) {
+        validateS3Key(s3Key);
+        ensureS3ClientInitialized();
+
+        try {
+            HeadObjectRequest headRequest = HeadObjectRequest.builder()
+                    .bucket(bucketName)
+                    .key(s3Key)
+                    .build();
+
+            return s3Client.headObject(headRequest).contentLength();
+        } catch (Exception e) {
+            log.error("Failed to read S3 object metadata: {}", e.getMessage(), e);
+            throw S3Exception.downloadFailed(s3Key, e);
+        }
+    }
+
     /**
      * Deletes a file from S3.
      * 
      * @param s3Key The S3 key of the file to delete
      * @throws S3Exception if deletion fails
      */
+    @Timed(value = "clouds.s3.requests", extraTags = {"operation", "delete"})
     public void deleteFile(String s3Key) {
-        log.info("Deleting file from S3: {}", s3Key);
+        log.debug("Deleting file from S3: {}", s3Key);
         
         validateS3Key(s3Key);
         ensureS3ClientInitialized();
@@ -166,13 +819,134 @@ public class S3Service {
                     .build();
             
             s3Client.deleteObject(deleteRequest);
-            log.info("File deleted successfully from S3: {}", s3Key);
+            log.debug("File deleted successfully from S3: {}", s3Key);
         } catch (Exception e) {
             log.error("Failed to delete file from S3: {}", e.getMessage(), e);
             throw S3Exception.deleteFailed(s3Key, e);
         }
     }
     
+    /**
+     * Deletes many files from S3 with DeleteObjects requests of up to 1000 keys each.
+     * All batches are sent concurrently on the non-blocking client; a failed key or batch
+     * does not stop the others.
+     *
+     * @param s3Keys The S3 keys of the files to delete
+     * @return The keys that could not be deleted
+     */
+    @Timed(value = "clouds.s3.requests", extraTags = {"operation", "delete_batch"})
+    public List<String> deleteFiles(List<String> s3Keys) {
+        log.debug("Deleting {} files from S3 in batches of up to {}", s3Keys.size(), DELETE_BATCH_SIZE);
+
+        ensureS3ClientInitialized();
+
+        List<CompletableFuture<List<String>>> batches = new ArrayList<>();
+        for (int from = 0; from < s3Keys.size(); from += DELETE_BATCH_SIZE) {
+            batches.add(deleteBatchAsync(s3Keys.subList(from, Math.min(from + DELETE_BATCH_SIZE, s3Keys.size()))));
+        }
+
+        return batches.stream()
+                .map(CompletableFuture::join)
+                .flatMap(List::stream)
+                .toList();
+    }
+
+    /**
+     * Sends one DeleteObjects request in quiet mode, so S3 only reports the keys it failed to delete.
+     *
+     * @param batch The keys to delete, at most {@link #DELETE_BATCH_SIZE}
+     * @return A future of the keys that could not be deleted
+     */
+    private CompletableFuture<List<String>> deleteBatchAsync(List<String> batch) {
+        DeleteObjectsRequest deleteRequest = DeleteObjectsRequest.builder()
+                .bucket(bucketName)
+                .delete(Delete.builder()
+                        .objects(batch.stream()
+                                .map(key -> ObjectIdentifier.builder().key(key).build())
+                                .toList())
+                        .quiet(true)
+                        .build())
+                .build();
+
+        return s3AsyncClient.deleteObjects(deleteRequest)
+                .handle((response, error) -> {
+                    if (error != null) {
+                        Throwable cause = unwrapCompletion(error);
+                        log.error("Failed to delete batch of {} files from S3: {}", batch.size(), cause.getMessage(), cause);
+                        return batch;
+                    }
+                    response.errors().forEach(s3Error -> log.warn("Failed to delete file from S3: {} ({}: {})",
+                            s3Error.key(), s3Error.code(), s3Error.message()));
+                    return response.errors().stream()
+                            .map(S3Error::key)
+                            .toList();
+                });
+    }
+
+    /**
+     * Creates a short-lived pre-signed URL that lets a client PUT the object directly to S3.
+     * The client must send the same Content-Type and Content-Length that were signed, so S3
+     * rejects an object of any other size.
+     *
+     * @param fileKey The S3 key the object will be stored under
+     * @param contentType The MIME type of the object
+     * @param contentLength The exact size of the object in bytes
+     * @return The pre-signed request
+     * @throws S3Exception if signing fails
+     */
+    public PresignedPutObjectRequest presignUpload(String fileKey, String contentType, long contentLength) {
+        log.debug("Pre-signing upload URL for S3 key: {}", fileKey);
+
+        validateS3Key(fileKey);
+        ensureS3ClientInitialized();
+
+        try {
+            PutObjectRequest putRequest = PutObjectRequest.builder()
+                    .bucket(bucketName)
+                    .key(fileKey)
+                    .contentType(contentType)
+                    .contentLength(contentLength)
+                    .build();
+
+            return s3Presigner.presignPutObject(PutObjectPresignRequest.builder()
+                    .signatureDuration(presignTtl)
+                    .putObjectRequest(putRequest)
+                    .build());
+        } catch (Exception e) {
+            log.error("Failed to pre-sign upload URL: {}", e.getMessage(), e);
+            throw S3Exception.uploadFailed(fileKey, e);
+        }
+    }
+
+    /**
+     * Creates a short-lived pre-signed URL that lets a client GET the object directly from S3.
+     *
+     * @param s3Key The S3 key of the object
+     * @return The pre-signed request
+     * @throws S3Exception if signing fails
+     */
+    public PresignedGetObjectRequest presignDownload(String s3Key) {
+        log.debug("Pre-signing download URL for S3 key: {}", s3Key);
+
+        validateS3Key(s3Key);
+        ensureS3ClientInitialized();
+
+        try {
+            GetObjectRequest getRequest = GetObjectRequest.builder()
+                    .bucket(bucketName)
+                    .key(s3Key)
+                    .build();
+
+            return s3Presigner.presignGetObject(GetObjectPresignRequest.builder()
+                    .signatureDuration(presignTtl)
+                    .getObjectRequest(getRequest)
+                    .build());
+        } catch (Exception e) {
+            log.error("Failed to pre-sign download URL: {}", e.getMessage(), e);
+            throw S3Exception.downloadFailed(s3Key, e);
+        }
+    }
+
     /**
      * Determines the appropriate S3 folder based on content type.
      * 
@@ -236,6 +1010,28 @@ public class S3Service {
         validateS3Key(fileKey);
     }
     
+    /**
+     * Validates streaming upload parameters.
+     *
+     * @param contentStream The content stream
+     * @param contentLength The declared content length
+     * @param contentType The content type
+     * @param fileKey The file key
+     * @throws IllegalArgumentException if parameters are invalid
+     */
+    private void validateStreamUploadParams(InputStream contentStream, long contentLength,
+                                            String contentType, String fileKey) {
+        if (contentStream == null || contentLength <= 0) {
+            throw new IllegalArgumentException("File content cannot be null or empty");
+        }
+
+        if (contentType == null || contentType.trim().isEmpty()) {
+            throw new IllegalArgumentException("Content type cannot be null or empty");
+        }
+
+        validateS3Key(fileKey);
+    }
+
     /**
      * Validates S3 key parameter.
      * 
@@ -248,6 +1044,30 @@ public class S3Service {
         }
     }
     
+    /**
+     * Strips the {@link CompletionException} wrapper added by future composition.
+     *
+     * @param error The error a future completed with
+     * @return The underlying cause
+     */
+    private Throwable unwrapCompletion(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    /**
+     * Counts the bytes S3 will send for an opened object stream.
+     *
+     * @param stream The opened object stream
+     * @return The same stream
+     */
+    private ResponseInputStream<GetObjectResponse> countDownloadedBytes(ResponseInputStream<GetObjectResponse> stream) {
+        Long contentLength = stream.response().contentLength();
+        if (contentLength != null) {
+            downloadedBytes.increment(contentLength);
+        }
+        return stream;
+    }
+
     /**
      * Ensures S3 client is initialized, initializes if needed.
      * 
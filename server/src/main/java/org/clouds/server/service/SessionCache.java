@@ -0,0 +1,115 @@
+package org.clouds.server.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Bounded in-process cache of active sessions, mapping a session ID to its user ID and expiry.
+ * Each entry lives until the session expires or the configured TTL elapses, whichever is
+ * first. Invalidation only reaches this node's cache, so the TTL bounds how long a session
+ * revoked on another node can stay usable here; it defaults to a few seconds, matching how
+ * quickly token revocations propagate, while still absorbing bursts of requests per session.
+ * Hit, miss and eviction counts are published as the {@code sessions} cache metrics.
+ *
+ * @author Bohdan
+ * @version 1.0
+ */
+@Component
+@Slf4j(topic = "session.cache")
+public class SessionCache {
+
+    private final Cache<String, CachedSession> sessions;
+
+    public SessionCache(@Value("${app.session-cache.max-size:100000}") long maxSize,
+                        @Value("${app.session-cache.ttl:5s}") Duration ttl,
+                        MeterRegistry meterRegistry) {
+        this.sessions = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new SessionExpiry(ttl))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, sessions, "sessions");
+    }
+
+    /**
+     * Looks up the user ID of a cached, unexpired session.
+     *
+     * @param sessionId The session ID
+     * @return The user ID, or null if the session is not cached or has expired
+     */
+    public Integer getUserId(String sessionId) {
+        CachedSession session = sessions.getIfPresent(sessionId);
+        if (session == null) {
+            return null;
+        }
+
+        if (!session.expiresAt().isAfter(LocalDateTime.now())) {
+            sessions.invalidate(sessionId);
+            return null;
+        }
+
+        return session.userId();
+    }
+
+    /**
+     * Caches an active session.
+     *
+     * @param sessionId The session ID
+     * @param userId    The ID of the session's user
+     * @param expiresAt When the session expires
+     */
+    public void put(String sessionId, Integer userId, LocalDateTime expiresAt) {
+        sessions.put(sessionId, new CachedSession(userId, expiresAt));
+    }
+
+    /**
+     * Removes a single session from the cache.
+     *
+     * @param sessionId The session ID
+     */
+    public void invalidate(String sessionId) {
+        sessions.invalidate(sessionId);
+    }
+
+    /**
+     * Removes every cached session belonging to a user.
+     *
+     * @param userId The ID of the user
+     */
+    public void invalidateUser(Integer userId) {
+        sessions.asMap().values().removeIf(session -> session.userId().equals(userId));
+        log.debug("Invalidated cached sessions for user: {}", userId);
+    }
+
+    public record CachedSession(Integer userId, LocalDateTime expiresAt) {
+    }
+
+    private record SessionExpiry(Duration ttl) implements Expiry<String, CachedSession> {
+
+        @Override
+        public long expireAfterCreate(String sessionId, CachedSession session, long currentTime) {
+            Duration untilExpiry = Duration.between(LocalDateTime.now(), session.expiresAt());
+            long remainingNanos = Math.max(0, untilExpiry.toNanos());
+            return Math.min(remainingNanos, ttl.toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String sessionId, CachedSession session, long currentTime, long currentDuration) {
+            return expireAfterCreate(sessionId, session, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String sessionId, CachedSession session, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,275 @@
+package org.clouds.server.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.clouds.server.model.SessionRevocation;
+import org.clouds.server.repository.SessionRevocationRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Issues and verifies stateless session tokens carried in the session cookie.
+ * A token holds the user ID, its issue time (the session generation), its expiry and a random
+ * token ID, signed with HMAC-SHA256, so verifying it needs no database access.
+ * Logout revokes a single token ID and password changes or account deletion revoke every token
+ * of a user issued up to that moment. Revocations are kept in memory, persisted so that other
+ * nodes pick them up on their next refresh, and dropped once the revoked tokens have expired.
+ * Only active when {@code app.session.mode=token}; the default mode keeps database-backed sessions.
+ *
+ * @author Bohdan
+ * @version 1.0
+ */
+@Component
+@Slf4j(topic = "session.token")
+public class SessionTokenService {
+
+    private static final String TOKEN_MODE = "token";
+    private static final String TOKEN_VERSION = "v1";
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final int TOKEN_ID_BYTES = 16;
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    @Value("${app.session.mode:database}")
+    private String sessionMode;
+
+    @Value("${app.session.token-secret:${security.jwt.secret-key}}")
+    private String tokenSecret;
+
+    @Value("${app.session.token-ttl:24h}")
+    private Duration tokenTtl;
+
+    @Autowired
+    private SessionRevocationRepository sessionRevocationRepository;
+
+    private final SecureRandom secureRandom = new SecureRandom();
+    private final Map<String, Long> revokedTokens = new ConcurrentHashMap<>();
+    private final Map<Integer, Long> revokedBefore = new ConcurrentHashMap<>();
+
+    private boolean enabled;
+    private SecretKeySpec signingKey;
+    private ThreadLocal<Mac> macs;
+
+    @PostConstruct
+    public void init() {
+        enabled = TOKEN_MODE.equalsIgnoreCase(sessionMode);
+        if (!enabled) {
+            return;
+        }
+
+        if (tokenSecret == null || tokenSecret.isBlank()) {
+            throw new IllegalStateException("app.session.token-secret must be set when app.session.mode=token");
+        }
+
+        signingKey = new SecretKeySpec(Base64.getDecoder().decode(tokenSecret), HMAC_ALGORITHM);
+        macs = ThreadLocal.withInitial(this::newMac);
+        refreshRevocations();
+
+        log.info("Stateless session tokens enabled with a lifetime of {}", tokenTtl);
+    }
+
+    /**
+     * Checks whether sessions are carried as signed tokens instead of database rows.
+     *
+     * @return true if token mode is enabled
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Issues a signed session token for a user.
+     *
+     * @param userId The ID of the user
+     * @return The encoded token to store in the session cookie
+     */
+    public String issueToken(Integer userId) {
+        long issuedAt = System.currentTimeMillis();
+        long expiresAt = issuedAt + tokenTtl.toMillis();
+
+        byte[] tokenIdBytes = new byte[TOKEN_ID_BYTES];
+        secureRandom.nextBytes(tokenIdBytes);
+        String tokenId = ENCODER.encodeToString(tokenIdBytes);
+
+        String payload = String.join(":", TOKEN_VERSION, userId.toString(),
+                Long.toString(issuedAt), Long.toString(expiresAt), tokenId);
+        byte[] payloadBytes = payload.getBytes(StandardCharsets.US_ASCII);
+
+        return ENCODER.encodeToString(payloadBytes) + "." + ENCODER.encodeToString(sign(payloadBytes));
+    }
+
+    /**
+     * Verifies a session token without any I/O.
+     *
+     * @param token The encoded token from the session cookie
+     * @return The user ID if the token is authentic, unexpired and not revoked, null otherwise
+     */
+    public Integer verifyToken(String token) {
+        TokenClaims claims = parseToken(token);
+        if (claims == null) {
+            return null;
+        }
+
+        if (claims.expiresAt() <= System.currentTimeMillis()) {
+            return null;
+        }
+
+        if (revokedTokens.containsKey(claims.tokenId())) {
+            return null;
+        }
+
+        Long notBefore = revokedBefore.get(claims.userId());
+        if (notBefore != null && claims.issuedAt() <= notBefore) {
+            return null;
+        }
+
+        return claims.userId();
+    }
+
+    /**
+     * Revokes a single session token, e.g. on logout.
+     *
+     * @param token The encoded token to revoke
+     */
+    public void revokeToken(String token) {
+        TokenClaims claims = parseToken(token);
+        if (claims == null || claims.expiresAt() <= System.currentTimeMillis()) {
+            return;
+        }
+
+        revokedTokens.put(claims.tokenId(), claims.expiresAt());
+        sessionRevocationRepository.saveRevocation(SessionRevocation.builder()
+                .tokenId(claims.tokenId())
+                .userId(claims.userId())
+                .revokedAt(LocalDateTime.now())
+                .expiresAt(toLocalDateTime(claims.expiresAt()))
+                .build());
+    }
+
+    /**
+     * Revokes every token of a user issued up to now, e.g. after a password change or account
+     * deletion. Does nothing unless token mode is enabled.
+     *
+     * @param userId The ID of the user
+     */
+    public void revokeUser(Integer userId) {
+        if (!enabled) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        revokedBefore.merge(userId, now, Math::max);
+        sessionRevocationRepository.saveRevocation(SessionRevocation.builder()
+                .userId(userId)
+                .revokedAt(toLocalDateTime(now))
+                .expiresAt(toLocalDateTime(now + tokenTtl.toMillis()))
+                .build());
+
+        log.debug("Revoked all session tokens for user: {}", userId);
+    }
+
+    /**
+     * Reloads every unexpired revocation, including those from other nodes, and drops in-memory
+     * revocations whose tokens can no longer be valid. The whole set is read on each refresh
+     * rather than only rows past the highest ID seen, because sequence IDs are assigned before
+     * commit and a revocation committed out of order would otherwise never be picked up. The
+     * set stays small since rows are only kept until the revoked tokens expire.
+     */
+    @Scheduled(fixedDelayString = "${app.session.revocation-refresh-interval:5s}")
+    public void refreshRevocations() {
+        if (!enabled) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        List<SessionRevocation> revocations = sessionRevocationRepository.getActiveRevocations(LocalDateTime.now());
+
+        for (SessionRevocation revocation : revocations) {
+            if (revocation.getTokenId() != null) {
+                revokedTokens.put(revocation.getTokenId(), toEpochMillis(revocation.getExpiresAt()));
+            } else {
+                revokedBefore.merge(revocation.getUserId(), toEpochMillis(revocation.getRevokedAt()), Math::max);
+            }
+        }
+
+        long oldestValidIssue = now - tokenTtl.toMillis();
+        revokedTokens.values().removeIf(expiresAt -> expiresAt <= now);
+        revokedBefore.values().removeIf(notBefore -> notBefore < oldestValidIssue);
+    }
+
+    private TokenClaims parseToken(String token) {
+        if (!enabled || token == null) {
+            return null;
+        }
+
+        int separator = token.indexOf('.');
+        if (separator <= 0 || separator == token.length() - 1) {
+            return null;
+        }
+
+        try {
+            byte[] payloadBytes = DECODER.decode(token.substring(0, separator));
+            byte[] signature = DECODER.decode(token.substring(separator + 1));
+            if (!MessageDigest.isEqual(sign(payloadBytes), signature)) {
+                return null;
+            }
+
+            String[] parts = new String(payloadBytes, StandardCharsets.US_ASCII).split(":");
+            if (parts.length != 5 || !TOKEN_VERSION.equals(parts[0])) {
+                return null;
+            }
+
+            return new TokenClaims(
+                    Integer.valueOf(parts[1]),
+                    Long.parseLong(parts[2]),
+                    Long.parseLong(parts[3]),
+                    parts[4]);
+        } catch (IllegalArgumentException e) {
+            log.debug("Rejected malformed session token");
+            return null;
+        }
+    }
+
+    private byte[] sign(byte[] payload) {
+        return macs.get().doFinal(payload);
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(signingKey);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to initialize session token signing", e);
+        }
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+
+    private static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private record TokenClaims(Integer userId, long issuedAt, long expiresAt, String tokenId) {
+    }
+}
@@ -26,6 +26,8 @@ public class UserService implements UserDetailsService {
     private final UserSecurityRepository userSecurityRepository;
     private final UserVerificationRepository userVerificationRepository;
     private final UserSessionRepository userSessionRepository;
+    private final SessionCache sessionCache;
+    private final SessionTokenService sessionTokenService;
 
     /**
      * Retrieves all users from the repository
@@ -153,6 +155,18 @@ public class UserService implements UserDetailsService {
         return userRepository.findById(userId);
     }
 
+    /**
+     * Ends every session of a user, whether database-backed, cached or a signed token
+     *
+     * @param userId The ID of the user
+     */
+    public void revokeAllSessions(Integer userId) {
+        userSessionRepository.deleteAllByUserId(userId.longValue());
+        sessionCache.invalidateUser(userId);
+        sessionTokenService.revokeUser(userId);
+        log.info("Service: Deleted all sessions for user: {}", userId);
+    }
+
     /**
      * Deletes a user account and all associated data
      * 
@@ -172,8 +186,7 @@ public class UserService implements UserDetailsService {
         log.info("Service: Found user to delete: {}", user.getEmail());
         
         try {
-            userSessionRepository.deleteAllByUserId(userId.longValue());
-            log.info("Service: Deleted all sessions for user: {}", userId);
+            revokeAllSessions(userId);
             
             userVerificationRepository.deleteById(userId.longValue());
             log.info("Service: Deleted verification data for user: {}", userId);
@@ -0,0 +1,90 @@
+-- Base schema that was previously created by hibernate.ddl-auto=update or by hand.
+-- Every statement is idempotent so existing databases can be baselined onto the migrations.
+
+CREATE TABLE IF NOT EXISTS users (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    username VARCHAR(255) NOT NULL UNIQUE,
+    name VARCHAR(255) NOT NULL,
+    surname VARCHAR(255) NOT NULL,
+    email VARCHAR(255) NOT NULL UNIQUE,
+    registration_date TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    last_login_date TIMESTAMP(6) WITH TIME ZONE,
+    is_verified BOOLEAN NOT NULL DEFAULT FALSE,
+    role VARCHAR(255) NOT NULL,
+    profile_image_key VARCHAR(255),
+    used_space_bytes BIGINT NOT NULL DEFAULT 0,
+    limit_space_bytes BIGINT NOT NULL,
+    signup_ip VARCHAR(255),
+    last_login_ip VARCHAR(255),
+    password_changed_at TIMESTAMP(6)
+);
+
+CREATE TABLE IF NOT EXISTS user_security (
+    user_id BIGINT PRIMARY KEY REFERENCES users(id),
+    salt VARCHAR(255) NOT NULL,
+    salt_authentication VARCHAR(255) NOT NULL,
+    salt_encryption VARCHAR(255) NOT NULL,
+    salt_mk VARCHAR(255) NOT NULL,
+    public_key TEXT NOT NULL,
+    encrypted_master_key TEXT NOT NULL,
+    encrypted_master_key_iv VARCHAR(255) NOT NULL,
+    hashed_authentication_key TEXT NOT NULL,
+    encrypted_private_key TEXT NOT NULL,
+    encrypted_private_key_iv VARCHAR(255) NOT NULL,
+    encrypted_private_key_salt VARCHAR(255) NOT NULL,
+    mfa_enabled BOOLEAN DEFAULT FALSE,
+    mfa_secret VARCHAR(255)
+);
+
+CREATE TABLE IF NOT EXISTS user_verification (
+    user_id BIGINT PRIMARY KEY REFERENCES users(id),
+    verification_code VARCHAR(255),
+    verification_code_expires_at TIMESTAMP(6) WITH TIME ZONE,
+    is_verified BOOLEAN NOT NULL DEFAULT FALSE
+);
+
+CREATE TABLE IF NOT EXISTS user_sessions (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id BIGINT NOT NULL REFERENCES users(id),
+    session_id VARCHAR(32) NOT NULL UNIQUE,
+    created_at TIMESTAMP(6) NOT NULL,
+    expires_at TIMESTAMP(6) NOT NULL,
+    user_agent VARCHAR(255),
+    ip_address VARCHAR(45)
+);
+
+CREATE TABLE IF NOT EXISTS login_attempts (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    ip_address VARCHAR(255) NOT NULL,
+    email VARCHAR(255),
+    attempt_time TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    is_blocked BOOLEAN NOT NULL,
+    block_expires_at TIMESTAMP(6) WITH TIME ZONE
+);
+
+CREATE TABLE IF NOT EXISTS user_files (
+    id BIGSERIAL PRIMARY KEY,
+    user_id INTEGER NOT NULL,
+    file_name VARCHAR(1024) NOT NULL,
+    file_size_bytes BIGINT NOT NULL,
+    content_type VARCHAR(255),
+    created_at TIMESTAMP NOT NULL,
+    s3_key VARCHAR(1024) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS file_owner (
+    id BIGSERIAL PRIMARY KEY,
+    owner_user_id BIGINT NOT NULL,
+    file_id BIGINT NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS user_files_secure (
+    id BIGSERIAL PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    file_id BIGINT NOT NULL,
+    wrapped_key TEXT NOT NULL,
+    file_iv VARCHAR(255) NOT NULL,
+    file_tag VARCHAR(255),
+    key_iv VARCHAR(255) NOT NULL,
+    created_at TIMESTAMP NOT NULL
+);
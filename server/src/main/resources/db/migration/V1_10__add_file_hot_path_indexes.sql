@@ -0,0 +1,11 @@
+-- File listings: WHERE user_id = ? ORDER BY created_at DESC, id DESC, by offset or keyset cursor.
+-- The included columns let listing pages and per-user counts run as index-only scans.
+CREATE INDEX IF NOT EXISTS idx_user_files_user_id_created_at
+    ON user_files(user_id, created_at DESC, id DESC)
+    INCLUDE (file_name, file_size_bytes, content_type);
+
+-- Owner lookups and the owner join of every listing row
+CREATE INDEX IF NOT EXISTS idx_file_owner_file_id ON file_owner(file_id) INCLUDE (owner_user_id);
+
+-- Encryption details of a file, newest first
+CREATE INDEX IF NOT EXISTS idx_user_files_secure_file_id ON user_files_secure(file_id, id DESC);
@@ -0,0 +1,46 @@
+-- Stored S3 objects with the number of user_files rows pointing at them. Transfers share an
+-- object by adding a reference; an object whose count drops to zero is deleted by the blob reaper.
+CREATE TABLE IF NOT EXISTS blobs (
+    s3_key VARCHAR(1024) PRIMARY KEY,
+    ref_count INTEGER NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    released_at TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_blobs_unreferenced ON blobs(released_at) WHERE ref_count = 0;
+
+-- Keeps ref_count in step with every insert, delete and s3_key change of user_files,
+-- whichever code path makes it. 'none' marks a file without content yet.
+CREATE OR REPLACE FUNCTION track_blob_references() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP <> 'INSERT' AND OLD.s3_key IS NOT NULL AND OLD.s3_key <> 'none'
+            AND (TG_OP = 'DELETE' OR NEW.s3_key IS DISTINCT FROM OLD.s3_key) THEN
+        UPDATE blobs
+        SET ref_count = ref_count - 1,
+            released_at = CASE WHEN ref_count = 1 THEN now() ELSE released_at END
+        WHERE s3_key = OLD.s3_key;
+    END IF;
+
+    IF TG_OP <> 'DELETE' AND NEW.s3_key IS NOT NULL AND NEW.s3_key <> 'none'
+            AND (TG_OP = 'INSERT' OR NEW.s3_key IS DISTINCT FROM OLD.s3_key) THEN
+        INSERT INTO blobs (s3_key, ref_count, created_at)
+        VALUES (NEW.s3_key, 1, now())
+        ON CONFLICT (s3_key) DO UPDATE SET ref_count = blobs.ref_count + 1, released_at = NULL;
+    END IF;
+
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS user_files_blob_references ON user_files;
+CREATE TRIGGER user_files_blob_references
+    AFTER INSERT OR DELETE OR UPDATE OF s3_key ON user_files
+    FOR EACH ROW EXECUTE FUNCTION track_blob_references();
+
+-- Count the references of content stored before this migration
+INSERT INTO blobs (s3_key, ref_count, created_at)
+SELECT s3_key, COUNT(*), now()
+FROM user_files
+WHERE s3_key IS NOT NULL AND s3_key <> 'none'
+GROUP BY s3_key
+ON CONFLICT (s3_key) DO UPDATE SET ref_count = EXCLUDED.ref_count, released_at = NULL;
@@ -0,0 +1,16 @@
+-- Per-user storage counters. used_space_bytes and file_count are adjusted in the same
+-- transaction as every file insert and delete, so quota checks and profile totals read
+-- one users row instead of aggregating user_files.
+ALTER TABLE users ADD COLUMN IF NOT EXISTS file_count INTEGER NOT NULL DEFAULT 0;
+
+-- Recount the files stored before the counters were maintained
+UPDATE users u
+SET used_space_bytes = COALESCE(totals.used_space_bytes, 0),
+    file_count = COALESCE(totals.file_count, 0)
+FROM users target
+LEFT JOIN (
+    SELECT user_id, SUM(file_size_bytes) AS used_space_bytes, COUNT(*) AS file_count
+    FROM user_files
+    GROUP BY user_id
+) totals ON totals.user_id = target.id
+WHERE u.id = target.id;
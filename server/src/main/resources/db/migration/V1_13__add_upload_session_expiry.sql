@@ -0,0 +1,8 @@
+-- Upload sessions expire so that abandoned ones can be aborted and their S3 parts released.
+ALTER TABLE upload_sessions ADD COLUMN IF NOT EXISTS expires_at TIMESTAMP;
+
+UPDATE upload_sessions SET expires_at = created_at + INTERVAL '24 hours' WHERE expires_at IS NULL;
+
+ALTER TABLE upload_sessions ALTER COLUMN expires_at SET NOT NULL;
+
+CREATE INDEX IF NOT EXISTS idx_upload_sessions_expires_at ON upload_sessions(expires_at);
@@ -0,0 +1,3 @@
+-- Persisted login blocks are now reloaded by expiry rather than read back by ID
+DROP INDEX IF EXISTS idx_login_attempts_active_blocks;
+CREATE INDEX IF NOT EXISTS idx_login_attempts_active_blocks ON login_attempts(block_expires_at) WHERE is_blocked;
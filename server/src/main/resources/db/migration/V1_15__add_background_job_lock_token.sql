@@ -0,0 +1,20 @@
+-- Each claim stamps a fresh token; heartbeats and terminal updates only apply while the
+-- worker still holds it, so a worker whose lease was taken over cannot overwrite the new run
+ALTER TABLE background_jobs ADD COLUMN IF NOT EXISTS lock_token VARCHAR(36);
+
+-- Keep only the oldest active job per user and type before enforcing uniqueness
+UPDATE background_jobs j
+SET status = 'FAILED', message = 'Superseded by an earlier job of the same type', locked_until = NULL
+WHERE j.status IN ('QUEUED', 'RUNNING')
+  AND EXISTS (
+    SELECT 1 FROM background_jobs older
+    WHERE older.user_id = j.user_id
+      AND older.job_type = j.job_type
+      AND older.status IN ('QUEUED', 'RUNNING')
+      AND (older.created_at, older.id) < (j.created_at, j.id)
+  );
+
+-- At most one queued or running job per user and type, so concurrent enqueues cannot both insert
+DROP INDEX IF EXISTS idx_background_jobs_user_type;
+CREATE UNIQUE INDEX IF NOT EXISTS uq_background_jobs_active_user_type ON background_jobs(user_id, job_type)
+    WHERE status IN ('QUEUED', 'RUNNING');
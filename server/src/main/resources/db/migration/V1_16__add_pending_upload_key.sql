@@ -0,0 +1,3 @@
+-- Key issued for a pre-signed upload that has not been completed yet. It is kept apart from
+-- s3_key so the blob trigger does not count it as a reference until the upload is confirmed.
+ALTER TABLE user_files ADD COLUMN IF NOT EXISTS pending_s3_key VARCHAR(1024);
@@ -0,0 +1,10 @@
+-- Size every chunk except the last must have, fixed when the session is created so the
+-- stored chunks can never add up to more than the file's declared size
+ALTER TABLE upload_sessions ADD COLUMN IF NOT EXISTS chunk_size_bytes BIGINT;
+
+UPDATE upload_sessions s
+SET chunk_size_bytes = (f.file_size_bytes + 16 + s.total_chunks - 1) / s.total_chunks
+FROM user_files f
+WHERE f.id = s.file_id AND s.chunk_size_bytes IS NULL;
+
+ALTER TABLE upload_sessions ALTER COLUMN chunk_size_bytes SET NOT NULL;
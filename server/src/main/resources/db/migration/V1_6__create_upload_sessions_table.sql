@@ -0,0 +1,12 @@
+CREATE TABLE IF NOT EXISTS upload_sessions (
+    id VARCHAR(36) PRIMARY KEY,
+    file_id BIGINT NOT NULL,
+    user_id INTEGER NOT NULL,
+    s3_key VARCHAR(1024) NOT NULL,
+    s3_upload_id VARCHAR(1024) NOT NULL,
+    total_chunks INTEGER NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    CONSTRAINT fk_upload_sessions_file_id FOREIGN KEY (file_id) REFERENCES user_files(id) ON DELETE CASCADE
+);
+
+CREATE INDEX IF NOT EXISTS idx_upload_sessions_user_id ON upload_sessions(user_id);
@@ -0,0 +1,16 @@
+CREATE TABLE IF NOT EXISTS background_jobs (
+    id VARCHAR(36) PRIMARY KEY,
+    job_type VARCHAR(50) NOT NULL,
+    user_id INTEGER NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    attempts INTEGER NOT NULL DEFAULT 0,
+    message TEXT,
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL,
+    available_at TIMESTAMP NOT NULL,
+    locked_until TIMESTAMP
+);
+
+-- Claim query: queued jobs that are due, and running jobs whose lease has expired
+CREATE INDEX IF NOT EXISTS idx_background_jobs_claim ON background_jobs(status, available_at);
+CREATE INDEX IF NOT EXISTS idx_background_jobs_user_type ON background_jobs(user_id, job_type);
@@ -0,0 +1,12 @@
+-- Session lookups by user and expiry, and the retention sweep over expired sessions
+CREATE INDEX IF NOT EXISTS idx_user_sessions_user_id_expires_at ON user_sessions(user_id, expires_at);
+CREATE INDEX IF NOT EXISTS idx_user_sessions_expires_at ON user_sessions(expires_at);
+
+-- Persisted login blocks are read back by ID; stale rows are swept by attempt time
+CREATE INDEX IF NOT EXISTS idx_login_attempts_active_blocks ON login_attempts(id, block_expires_at) WHERE is_blocked;
+CREATE INDEX IF NOT EXISTS idx_login_attempts_attempt_time ON login_attempts(attempt_time);
+
+-- Verification by code, and the sweep over codes that have expired
+CREATE INDEX IF NOT EXISTS idx_user_verification_code ON user_verification(verification_code);
+CREATE INDEX IF NOT EXISTS idx_user_verification_code_expires_at ON user_verification(verification_code_expires_at)
+    WHERE verification_code IS NOT NULL;
@@ -0,0 +1,117 @@
+package org.clouds.server.repository;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that the hot queries of the JdbcTemplate and JPA repositories are served by the indexes
+ * declared in the migrations. The migrations are applied to a throwaway schema of a local
+ * Postgres and each query is explained with sequential scans disabled, so any query left
+ * without a usable index still shows a Seq Scan in its plan.
+ * <p>
+ * Runs only when {@code CLOUDS_TEST_DB_URL} (plus {@code CLOUDS_TEST_DB_USERNAME} and
+ * {@code CLOUDS_TEST_DB_PASSWORD}) points at a Postgres instance.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@EnabledIfEnvironmentVariable(named = "CLOUDS_TEST_DB_URL", matches = ".+")
+public class QueryPlanRegressionTest {
+
+    private static final String LISTING_JOINS = "FROM user_files uf " +
+            "LEFT JOIN file_owner fo ON fo.file_id = uf.id " +
+            "LEFT JOIN users u ON u.id = fo.owner_user_id AND fo.owner_user_id <> uf.user_id ";
+
+    private final String schema = "plan_test_" + UUID.randomUUID().toString().replace("-", "");
+    private Connection connection;
+
+    @BeforeAll
+    public void migrate() throws SQLException {
+        String url = System.getenv("CLOUDS_TEST_DB_URL");
+        String username = System.getenv("CLOUDS_TEST_DB_USERNAME");
+        String password = System.getenv("CLOUDS_TEST_DB_PASSWORD");
+
+        Flyway.configure()
+                .dataSource(url, username, password)
+                .schemas(schema)
+                .locations("classpath:db/migration")
+                .load()
+                .migrate();
+
+        connection = DriverManager.getConnection(url, username, password);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("SET search_path TO " + schema);
+            statement.execute("SET enable_seqscan = off");
+        }
+    }
+
+    @AfterAll
+    public void dropSchema() throws SQLException {
+        if (connection == null) {
+            return;
+        }
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP SCHEMA " + schema + " CASCADE");
+        } finally {
+            connection.close();
+        }
+    }
+
+    static Stream<Arguments> hotQueries() {
+        return Stream.of(
+                Arguments.of("file listing page",
+                        "SELECT uf.id, uf.file_name, fo.owner_user_id, u.name " + LISTING_JOINS +
+                                "WHERE uf.user_id = 1 ORDER BY uf.created_at DESC, uf.id DESC LIMIT 30 OFFSET 0"),
+                Arguments.of("file listing cursor",
+                        "SELECT uf.id, uf.file_name, fo.owner_user_id, u.name " + LISTING_JOINS +
+                                "WHERE uf.user_id = 1 AND (uf.created_at, uf.id) < (now()::timestamp, 100) " +
+                                "ORDER BY uf.created_at DESC, uf.id DESC LIMIT 30"),
+                Arguments.of("file count",
+                        "SELECT file_count FROM users WHERE id = 1"),
+                Arguments.of("file by id",
+                        "SELECT * FROM user_files WHERE id = 1"),
+                Arguments.of("file owner by file",
+                        "SELECT * FROM file_owner WHERE file_id = 1"),
+                Arguments.of("secure details by file",
+                        "SELECT * FROM user_files_secure WHERE file_id = 1"),
+                Arguments.of("transfer sources",
+                        "SELECT DISTINCT ON (f.id) f.id, s.file_iv, COALESCE(o.owner_user_id, f.user_id) " +
+                                "FROM user_files f JOIN user_files_secure s ON s.file_id = f.id " +
+                                "LEFT JOIN file_owner o ON o.file_id = f.id " +
+                                "WHERE f.user_id = 1 AND f.id = ANY(ARRAY[1, 2, 3]::bigint[]) ORDER BY f.id, s.id DESC"),
+                Arguments.of("active session by session id",
+                        "SELECT * FROM user_sessions WHERE session_id = 'abc' AND expires_at > now()"),
+                Arguments.of("active sessions by user",
+                        "SELECT * FROM user_sessions WHERE user_id = 1 AND expires_at > now()"),
+                Arguments.of("user by email",
+                        "SELECT * FROM users WHERE email = 'user@example.com'"));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("hotQueries")
+    public void testHotQuery_shouldNotUseSequentialScan(String name, String sql) throws SQLException {
+        String plan;
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("EXPLAIN (FORMAT JSON) " + sql)) {
+            assertTrue(rs.next());
+            plan = rs.getString(1);
+        }
+
+        assertFalse(plan.contains("\"Seq Scan\""), () -> name + " falls back to a sequential scan:\n" + plan);
+    }
+}
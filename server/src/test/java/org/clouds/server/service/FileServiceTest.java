@@ -1,21 +1,37 @@
 package org.clouds.server.service;
 
-import org.clouds.server.model.FileOwner;
+import org.clouds.server.exception.StorageQuotaExceededException;
+import org.clouds.server.model.FileTransferSource;
+import org.clouds.server.model.User;
 import org.clouds.server.model.UserFile;
+import org.clouds.server.model.UserFileListing;
+import org.clouds.server.dto.request.FileTransferRequestDto;
 import org.clouds.server.dto.request.FileUploadRequestDto;
+import org.clouds.server.dto.responses.BulkTransferResponseDto;
 import org.clouds.server.dto.responses.FileUploadResponseDto;
+import org.clouds.server.dto.responses.UserFilesResponseDto;
 import org.clouds.server.repository.FileOwnerRepository;
 import org.clouds.server.repository.UserFileRepository;
 import org.clouds.server.repository.UserFilesSecureRepository;
+import org.clouds.server.repository.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 public class FileServiceTest {
@@ -31,6 +47,12 @@ public class FileServiceTest {
     
     @Mock
     private S3Service s3Service;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
     
     @InjectMocks
     private FileService fileService;
@@ -38,6 +60,13 @@ public class FileServiceTest {
     @BeforeEach
     public void setup() {
         MockitoAnnotations.openMocks(this);
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        when(userRepository.chargeStorage(any(), anyLong(), anyInt())).thenReturn(1);
     }
     
     @Test
@@ -57,10 +86,8 @@ public class FileServiceTest {
         savedFile.setFileSizeBytes(requestDto.getFileSizeBytes());
         savedFile.setContentType(requestDto.getContentType());
         
-        when(userFileRepository.saveFileMetadata(any(UserFile.class))).thenReturn(savedFile);
-        
-        ArgumentCaptor<FileOwner> fileOwnerCaptor = ArgumentCaptor.forClass(FileOwner.class);
-        when(fileOwnerRepository.saveFileOwner(fileOwnerCaptor.capture())).thenReturn(new FileOwner());
+        when(userFileRepository.saveFileMetadataWithOwner(any(UserFile.class), eq(Long.valueOf(userId))))
+                .thenReturn(savedFile);
         
         // When
         FileUploadResponseDto response = fileService.saveFileMetadata(requestDto, userId);
@@ -70,13 +97,49 @@ public class FileServiceTest {
         assertEquals(fileId, response.getFileId());
         assertEquals(requestDto.getFileName(), response.getFileName());
         
-        // Verify file owner was saved
-        verify(fileOwnerRepository, times(1)).saveFileOwner(any(FileOwner.class));
-        
-        // Verify correct values were saved
-        FileOwner capturedFileOwner = fileOwnerCaptor.getValue();
-        assertEquals(fileId, capturedFileOwner.getFileId());
-        assertEquals(Long.valueOf(userId), capturedFileOwner.getOwnerUserId());
+        // Verify file and owner were written together
+        verify(userFileRepository, times(1)).saveFileMetadataWithOwner(any(UserFile.class), eq(Long.valueOf(userId)));
+        verify(userFileRepository, never()).saveFileMetadata(any(UserFile.class));
+        verify(userRepository, times(1)).chargeStorage(Long.valueOf(userId), 1024L, 1);
+        verifyNoInteractions(fileOwnerRepository);
+    }
+
+    @Test
+    public void testSaveFileMetadata_shouldRejectFileOverQuota() {
+        // Given
+        Integer userId = 1;
+
+        FileUploadRequestDto requestDto = new FileUploadRequestDto();
+        requestDto.setFileName("large-file.bin");
+        requestDto.setFileSizeBytes(200L * 1024 * 1024);
+        requestDto.setContentType("application/octet-stream");
+
+        when(userRepository.chargeStorage(Long.valueOf(userId), requestDto.getFileSizeBytes(), 1)).thenReturn(0);
+
+        // When / Then
+        assertThrows(StorageQuotaExceededException.class, () -> fileService.saveFileMetadata(requestDto, userId));
+        verify(userFileRepository, never()).saveFileMetadataWithOwner(any(UserFile.class), any());
+    }
+
+    @Test
+    public void testSaveFileMetadata_shouldReportFailedOwnerInsert() {
+        // Given
+        Integer userId = 1;
+
+        FileUploadRequestDto requestDto = new FileUploadRequestDto();
+        requestDto.setFileName("test-file.txt");
+        requestDto.setFileSizeBytes(1024L);
+        requestDto.setContentType("text/plain");
+
+        when(userFileRepository.saveFileMetadataWithOwner(any(UserFile.class), any()))
+                .thenThrow(new DataIntegrityViolationException("file_owner insert failed"));
+
+        // When
+        FileUploadResponseDto response = fileService.saveFileMetadata(requestDto, userId);
+
+        // Then
+        assertFalse(response.isSuccess());
+        assertNull(response.getFileId());
     }
     
     @Test
@@ -99,6 +162,80 @@ public class FileServiceTest {
         verify(fileOwnerRepository, times(1)).deleteByFileId(fileId);
         verify(userFilesSecureRepository, times(1)).deleteByFileId(fileId);
         verify(userFileRepository, times(1)).deleteFile(fileId);
-        verify(s3Service, times(1)).deleteFile(userFile.getS3Key());
+        verify(s3Service, never()).deleteFile(any());
+    }
+
+    @Test
+    public void testGetUserFiles_shouldUseSingleListingQuery() {
+        // Given
+        Integer userId = 1;
+
+        UserFileListing ownFile = UserFileListing.builder()
+                .id(1L)
+                .userId(userId)
+                .fileName("own.txt")
+                .ownerUserId(Long.valueOf(userId))
+                .build();
+        UserFileListing sharedFile = UserFileListing.builder()
+                .id(2L)
+                .userId(userId)
+                .fileName("shared.txt")
+                .ownerUserId(2L)
+                .ownerName("Jane Doe")
+                .build();
+
+        when(userFileRepository.getUserFileListingByPage(userId, 0, 30)).thenReturn(List.of(ownFile, sharedFile));
+        when(userRepository.findFileCountById(Long.valueOf(userId))).thenReturn(2);
+
+        // When
+        UserFilesResponseDto response = fileService.getUserFiles(userId, 0);
+
+        // Then
+        assertEquals(2, response.getTotalFiles());
+        assertFalse(response.isHasMoreFiles());
+        assertEquals("You", response.getFiles().get(0).getOwner());
+        assertEquals("Jane Doe", response.getFiles().get(1).getOwner());
+
+        verify(userRepository, times(1)).findFileCountById(Long.valueOf(userId));
+        verifyNoInteractions(fileOwnerRepository);
+    }
+
+    @Test
+    public void testTransferFiles_shouldReportInvalidItemsWithoutWriting() {
+        // Given
+        Integer userId = 1;
+
+        FileTransferSource source = FileTransferSource.builder()
+                .fileId(10L)
+                .fileName("shared.txt")
+                .ownerUserId(Long.valueOf(userId))
+                .build();
+
+        User recipient = new User();
+        recipient.setId(2L);
+        recipient.setEmail("known@example.com");
+
+        when(userFileRepository.getTransferSources(eq(userId), any())).thenReturn(List.of(source));
+        when(userRepository.findByEmailIn(any())).thenReturn(List.of(recipient));
+
+        List<FileTransferRequestDto> transfers = List.of(
+                new FileTransferRequestDto(10L, "unknown@example.com", "key", "iv"),
+                new FileTransferRequestDto(11L, "known@example.com", "key", "iv"),
+                new FileTransferRequestDto(10L, "known@example.com", null, "iv"));
+
+        // When
+        BulkTransferResponseDto response = fileService.transferFiles(userId, transfers);
+
+        // Then
+        assertEquals(0, response.getTransferred());
+        assertEquals(3, response.getResults().size());
+        assertEquals("Recipient user not found", response.getResults().get(0).getError());
+        assertEquals("File not found", response.getResults().get(1).getError());
+        assertEquals("Wrapped key and key IV are required", response.getResults().get(2).getError());
+
+        verify(userFileRepository, times(1)).getTransferSources(eq(userId), any());
+        verify(userRepository, times(1)).findByEmailIn(any());
+        verify(userFileRepository, never()).saveFilesMetadata(any());
+        verifyNoInteractions(userFilesSecureRepository, fileOwnerRepository);
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,55 @@
+package org.clouds.server.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.clouds.server.repository.LoginAttemptRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class LoginAttemptLimiterTest {
+
+    private static final int MAX_ATTEMPTS = 3;
+
+    private LoginAttemptRepository loginAttemptRepository;
+    private SimpleMeterRegistry meterRegistry;
+    private LoginAttemptLimiter limiter;
+
+    @BeforeEach
+    public void setup() {
+        loginAttemptRepository = mock(LoginAttemptRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+        limiter = new LoginAttemptLimiter(MAX_ATTEMPTS, Duration.ofHours(1), Duration.ofMinutes(30), 1000,
+                false, loginAttemptRepository, Runnable::run, meterRegistry);
+    }
+
+    @Test
+    public void testRecordFailure_shouldBlockIpAndEmailAtLimit() {
+        for (int i = 0; i < MAX_ATTEMPTS - 1; i++) {
+            limiter.recordFailure("user@example.com", "10.0.0.1");
+        }
+        assertFalse(limiter.isBlocked("user@example.com", "10.0.0.1"));
+
+        limiter.recordFailure("user@example.com", "10.0.0.1");
+
+        assertTrue(limiter.isBlocked("user@example.com", "10.0.0.1"));
+        assertTrue(limiter.isBlocked("user@example.com", "10.0.0.2"));
+        assertTrue(limiter.isBlocked("other@example.com", "10.0.0.1"));
+        assertFalse(limiter.isBlocked("other@example.com", "10.0.0.2"));
+        assertEquals(1.0, meterRegistry.counter("clouds.auth.login.blocks", "scope", "ip").count());
+        assertEquals(1.0, meterRegistry.counter("clouds.auth.login.blocks", "scope", "email").count());
+    }
+
+    @Test
+    public void testRecordFailure_shouldCountKeysSeparately() {
+        for (int i = 0; i < MAX_ATTEMPTS; i++) {
+            limiter.recordFailure("user" + i + "@example.com", "10.0.0." + i);
+        }
+
+        assertFalse(limiter.isBlocked("user0@example.com", "10.0.0.0"));
+        verifyNoInteractions(loginAttemptRepository);
+    }
+}